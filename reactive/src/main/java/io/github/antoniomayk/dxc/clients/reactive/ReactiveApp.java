@@ -0,0 +1,17 @@
+package io.github.antoniomayk.dxc.clients.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Non-blocking variant of the clients API, built on WebFlux and R2DBC.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@SpringBootApplication
+public class ReactiveApp {
+  public static void main(String[] args) {
+    SpringApplication.run(ReactiveApp.class, args);
+  }
+}
@@ -0,0 +1,28 @@
+package io.github.antoniomayk.dxc.clients.reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+
+/**
+ * Implements a {@link ReactiveAuditorAware} to set the current user as the auditor of the clients.
+ * If no user is authenticated, the auditor will be set to "SPRING_API", as in the servlet API.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Configuration
+@EnableR2dbcAuditing(auditorAwareRef = "auditorProvider")
+public class ReactiveAuditConfig {
+  @Bean
+  ReactiveAuditorAware<String> auditorProvider() {
+    return () ->
+        ReactiveSecurityContextHolder.getContext()
+            .map(SecurityContext::getAuthentication)
+            .map(authentication -> authentication.getName())
+            .defaultIfEmpty("SPRING_API");
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.antoniomayk.dxc.clients.reactive.config;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * Resolves validation messages from the same i18n bundle as the servlet API.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Configuration
+public class ReactiveMessageSourceConfig {
+  @Bean
+  LocalValidatorFactoryBean localValidatorFactoryBean(MessageSource messageSource) {
+    final var bean = new LocalValidatorFactoryBean();
+    bean.setValidationMessageSource(messageSource);
+    return bean;
+  }
+}
@@ -0,0 +1,61 @@
+package io.github.antoniomayk.dxc.clients.reactive.config;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.security.CachingAuthenticationProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Security settings of the reactive API, matching those of the servlet API.
+ *
+ * <ul>
+ *   <li>Cross-Site Request Forgery (CSRF) protection is disabled.
+ *   <li>All requests are required to be authenticated.
+ *   <li>No session is created, every request carries its own credentials.
+ *   <li>HTTP Basic authentication is enabled. Verified credentials are cached with the same {@link
+ *       CachingAuthenticationProvider} as the servlet API, and cache misses are verified on a
+ *       bounded elastic thread, so password hashing never blocks the event loop.
+ * </ul>
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+  @Bean
+  SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity http, SecurityProperties securityProperties) {
+    final var user = securityProperties.getUser();
+    final var passwordProvider = new DaoAuthenticationProvider();
+    passwordProvider.setUserDetailsService(
+        new InMemoryUserDetailsManager(
+            User.withUsername(user.getName())
+                .password(user.getPassword())
+                .roles(user.getRoles().toArray(new String[0]))
+                .build()));
+    passwordProvider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+    final var authenticationManager =
+        new ReactiveAuthenticationManagerAdapter(
+            new ProviderManager(
+                new CachingAuthenticationProvider(
+                    passwordProvider, new ClientProperties().getSecurity().getCredentialsCache())));
+
+    return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+        .httpBasic(httpBasic -> httpBasic.authenticationManager(authenticationManager))
+        .build();
+  }
+}
@@ -0,0 +1,107 @@
+package io.github.antoniomayk.dxc.clients.reactive.controller;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.reactive.entity.Client;
+import io.github.antoniomayk.dxc.clients.reactive.service.ClientService;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for managing clients, with the same paths and payloads as {@link
+ * io.github.antoniomayk.dxc.clients.controller.ClientController}. Request bodies are validated by
+ * {@link ClientService}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@RestController
+@RequestMapping("/api/v1/clients")
+public class ClientController {
+  private static final Logger logger = LoggerFactory.getLogger(ClientController.class);
+
+  private final ClientService clientService;
+
+  public ClientController(ClientService clientService) {
+    this.clientService = clientService;
+  }
+
+  /**
+   * Streams all active clients. With {@code application/x-ndjson} every client is written as soon
+   * as it is read, and the database is only read as fast as the connection accepts the response.
+   *
+   * @return The active clients, ordered by ID
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public Flux<Client> getAllClients() {
+    logger.info("Streaming all clients");
+    return clientService.getClients();
+  }
+
+  /**
+   * Retrieves a client by its ID.
+   *
+   * @param clientId The ID of the client to retrieve
+   * @param locale The locale of the error messages
+   * @return The client with the specified ID
+   */
+  @GetMapping("/{clientId}")
+  public Mono<Client> getClient(@PathVariable Long clientId, Locale locale) {
+    logger.info("Retrieving client with ID: {}", clientId);
+    return clientService.getClient(clientId, locale);
+  }
+
+  /**
+   * Creates a new client.
+   *
+   * @param clientDto The client data transfer object containing the client information
+   * @param locale The locale of the validation messages
+   * @return The created client
+   */
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<Client> postClient(@RequestBody ClientDto clientDto, Locale locale) {
+    logger.info("Creating a new client with data: {}", clientDto);
+    return clientService.createClient(clientDto, locale);
+  }
+
+  /**
+   * Updates an existing client.
+   *
+   * @param clientId The ID of the client to update
+   * @param clientDto The client data transfer object containing the updated client information
+   * @param locale The locale of the error messages
+   * @return The updated client
+   */
+  @PutMapping("/{clientId}")
+  public Mono<Client> putClient(
+      @PathVariable Long clientId, @RequestBody ClientDto clientDto, Locale locale) {
+    logger.info("Updating client with ID: {} with data: {}", clientId, clientDto);
+    return clientService.updateClient(clientId, clientDto, locale);
+  }
+
+  /**
+   * Deletes a client.
+   *
+   * @param clientId The ID of the client to delete
+   * @return The completion of the deletion
+   */
+  @DeleteMapping("/{clientId}")
+  public Mono<Void> deleteClient(@PathVariable Long clientId) {
+    logger.info("Deleting client with ID: {}", clientId);
+    return clientService.deleteClient(clientId);
+  }
+}
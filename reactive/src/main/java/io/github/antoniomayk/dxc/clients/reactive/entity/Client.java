@@ -0,0 +1,133 @@
+package io.github.antoniomayk.dxc.clients.reactive.entity;
+
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Client entity, mapped with Spring Data R2DBC to the same {@code clients} table as {@link
+ * io.github.antoniomayk.dxc.clients.entity.Client}, and serialized to the same JSON.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Table("clients")
+public class Client {
+  @Id private Long id;
+
+  @Column("full_name")
+  private String fullName;
+
+  @Column("email")
+  private String email;
+
+  @Column("phone_number")
+  private String phoneNumber;
+
+  @Column("normalized_phone_number")
+  private String normalizedPhoneNumber;
+
+  @Column("deleted_at")
+  private LocalDateTime deletedAt;
+
+  @CreatedBy
+  @Column("created_by")
+  private String createdBy;
+
+  @CreatedDate
+  @Column("created_at")
+  private LocalDateTime createdAt;
+
+  @LastModifiedBy
+  @Column("modified_by")
+  private String modifiedBy;
+
+  @LastModifiedDate
+  @Column("modified_at")
+  private LocalDateTime modifiedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getFullName() {
+    return fullName;
+  }
+
+  public void setFullName(String fullName) {
+    this.fullName = fullName;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public String getPhoneNumber() {
+    return phoneNumber;
+  }
+
+  public void setPhoneNumber(String phoneNumber) {
+    this.phoneNumber = phoneNumber;
+  }
+
+  public String getNormalizedPhoneNumber() {
+    return normalizedPhoneNumber;
+  }
+
+  public void setNormalizedPhoneNumber(String normalizedPhoneNumber) {
+    this.normalizedPhoneNumber = normalizedPhoneNumber;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  public void setDeletedAt(LocalDateTime deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+
+  public String getCreatedBy() {
+    return createdBy;
+  }
+
+  public void setCreatedBy(String createdBy) {
+    this.createdBy = createdBy;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public String getModifiedBy() {
+    return modifiedBy;
+  }
+
+  public void setModifiedBy(String modifiedBy) {
+    this.modifiedBy = modifiedBy;
+  }
+
+  public LocalDateTime getModifiedAt() {
+    return modifiedAt;
+  }
+
+  public void setModifiedAt(LocalDateTime modifiedAt) {
+    this.modifiedAt = modifiedAt;
+  }
+}
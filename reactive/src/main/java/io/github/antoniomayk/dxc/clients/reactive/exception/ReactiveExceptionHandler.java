@@ -0,0 +1,71 @@
+package io.github.antoniomayk.dxc.clients.reactive.exception;
+
+import io.github.antoniomayk.dxc.clients.dto.ErrorResponse;
+import io.github.antoniomayk.dxc.clients.exception.ClientDeletedException;
+import io.github.antoniomayk.dxc.clients.exception.ClientNotFoundException;
+import java.util.HashMap;
+import java.util.Locale;
+import javax.validation.ConstraintViolationException;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Exception handler of the reactive API, returning the same {@link ErrorResponse} bodies as {@link
+ * io.github.antoniomayk.dxc.clients.exception.GlobalExceptionHandler}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+  private final MessageSource messageSource;
+
+  ReactiveExceptionHandler(MessageSource messageSource) {
+    this.messageSource = messageSource;
+  }
+
+  @ExceptionHandler(ClientDeletedException.class)
+  ResponseEntity<ErrorResponse> handleClientInactiveException(ClientDeletedException ex) {
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), null);
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+  }
+
+  @ExceptionHandler(ClientNotFoundException.class)
+  ResponseEntity<ErrorResponse> handleClientNotFoundException(ClientNotFoundException ex) {
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), null);
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+  }
+
+  @ExceptionHandler(ServerWebInputException.class)
+  ResponseEntity<ErrorResponse> handleServerWebInputException(
+      ServerWebInputException ex, Locale locale) {
+    final var message =
+        messageSource.getMessage("error.MethodArgumentNotValidException", null, locale);
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", message, null);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+  }
+
+  @ExceptionHandler(ConstraintViolationException.class)
+  ResponseEntity<ErrorResponse> handleConstraintViolationException(
+      ConstraintViolationException ex, Locale locale) {
+    final var errors = new HashMap<String, String>();
+    ex.getConstraintViolations()
+        .forEach(
+            violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+    final var message =
+        messageSource.getMessage("error.ConstraintViolationException", null, locale);
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", message, errors);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+  }
+}
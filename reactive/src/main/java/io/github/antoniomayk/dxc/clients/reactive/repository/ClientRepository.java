@@ -0,0 +1,64 @@
+package io.github.antoniomayk.dxc.clients.reactive.repository;
+
+import io.github.antoniomayk.dxc.clients.reactive.entity.Client;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository interface for {@link Client} entities, with the same queries as {@link
+ * io.github.antoniomayk.dxc.clients.repository.ClientRepository}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Repository
+public interface ClientRepository extends ReactiveCrudRepository<Client, Long> {
+  /**
+   * Streams all active clients, ordered by ID. Rows are fetched as they are requested by the
+   * subscriber.
+   *
+   * @return the active clients
+   */
+  @Query("SELECT * FROM clients WHERE deleted_at IS NULL ORDER BY id")
+  Flux<Client> streamAllActiveClients();
+
+  /**
+   * Updates a client in a single statement, only if it is not deleted.
+   *
+   * @param clientId the ID of the client to update
+   * @param fullName the new full name
+   * @param email the new email
+   * @param phoneNumber the new phone number
+   * @param normalizedPhoneNumber the new phone number in E.164 format, or {@code null}
+   * @param modifiedBy the user making the change
+   * @return the number of updated rows, {@code 0} if the client does not exist or is deleted
+   */
+  @Modifying
+  @Query(
+      "UPDATE clients SET full_name = :fullName, email = :email, phone_number = :phoneNumber,"
+          + " normalized_phone_number = :normalizedPhoneNumber, modified_by = :modifiedBy,"
+          + " modified_at = CURRENT_TIMESTAMP WHERE id = :clientId AND deleted_at IS NULL")
+  Mono<Integer> updateActiveClient(
+      Long clientId,
+      String fullName,
+      String email,
+      String phoneNumber,
+      String normalizedPhoneNumber,
+      String modifiedBy);
+
+  /**
+   * Soft-deletes a client in a single statement, only if it is not deleted yet.
+   *
+   * @param clientId the ID of the client to delete
+   * @return the number of deleted rows, {@code 0} if the client does not exist or is deleted
+   */
+  @Modifying
+  @Query(
+      "UPDATE clients SET deleted_at = CURRENT_TIMESTAMP WHERE id = :clientId AND deleted_at IS"
+          + " NULL")
+  Mono<Integer> deactivateClient(Long clientId);
+}
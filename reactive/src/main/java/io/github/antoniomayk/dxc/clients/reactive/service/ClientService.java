@@ -0,0 +1,192 @@
+package io.github.antoniomayk.dxc.clients.reactive.service;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.exception.ClientDeletedException;
+import io.github.antoniomayk.dxc.clients.exception.ClientNotFoundException;
+import io.github.antoniomayk.dxc.clients.reactive.entity.Client;
+import io.github.antoniomayk.dxc.clients.reactive.repository.ClientRepository;
+import io.github.antoniomayk.dxc.clients.validator.PhoneNumberValidator;
+import java.util.Locale;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.ReactiveAuditorAware;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service class for managing client operations, with the same validation and soft-delete
+ * semantics as {@link io.github.antoniomayk.dxc.clients.service.ClientService}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Service
+public class ClientService {
+  private static final Logger logger = LoggerFactory.getLogger(ClientService.class);
+
+  private final ClientRepository clientRepository;
+  private final Validator validator;
+  private final MessageSource messageSource;
+  private final ReactiveAuditorAware<String> auditorAware;
+
+  ClientService(
+      ClientRepository clientRepository,
+      Validator validator,
+      MessageSource messageSource,
+      ReactiveAuditorAware<String> auditorAware) {
+    this.clientRepository = clientRepository;
+    this.validator = validator;
+    this.messageSource = messageSource;
+    this.auditorAware = auditorAware;
+  }
+
+  private Mono<ClientDto> validateClientDto(ClientDto clientDto, Locale locale) {
+    return Mono.fromCallable(
+        () -> {
+          logger.debug("Validating client DTO: {}", clientDto);
+          LocaleContextHolder.setLocale(locale);
+          try {
+            final var violations = validator.validate(clientDto);
+            if (!violations.isEmpty()) {
+              logger.warn("Validation failed for client DTO: {}", violations);
+              throw new ConstraintViolationException(violations);
+            }
+            return clientDto;
+          } finally {
+            LocaleContextHolder.resetLocaleContext();
+          }
+        });
+  }
+
+  private ClientNotFoundException clientNotFound(Long clientId, Locale locale) {
+    return new ClientNotFoundException(
+        messageSource.getMessage("error.ClientNotFoundException", new Object[] {clientId}, locale));
+  }
+
+  private ClientDeletedException clientDeleted(Long clientId, Locale locale) {
+    return new ClientDeletedException(
+        messageSource.getMessage("error.ClientDeletedException", new Object[] {clientId}, locale));
+  }
+
+  /**
+   * Streams all active clients, ordered by ID. Rows are read from the database as the subscriber
+   * requests them, so a slow client slows down the query instead of buffering the table.
+   *
+   * @return the active clients
+   */
+  public Flux<Client> getClients() {
+    logger.info("Streaming all active clients");
+    return clientRepository.streamAllActiveClients();
+  }
+
+  /**
+   * Retrieves an active client by its ID.
+   *
+   * @param clientId the ID of the client to retrieve
+   * @param locale the locale of the error messages
+   * @return the client, or an error with {@link ClientDeletedException} if it has been deleted or
+   *     {@link ClientNotFoundException} if it does not exist
+   */
+  public Mono<Client> getClient(Long clientId, Locale locale) {
+    logger.debug("Retrieving client with ID: {}", clientId);
+    return clientRepository
+        .findById(clientId)
+        .switchIfEmpty(Mono.error(() -> clientNotFound(clientId, locale)))
+        .flatMap(
+            client ->
+                client.getDeletedAt() == null
+                    ? Mono.just(client)
+                    : Mono.error(clientDeleted(clientId, locale)));
+  }
+
+  /**
+   * Creates a new client.
+   *
+   * @param clientDto the DTO containing the client information to be created
+   * @param locale the locale of the validation messages
+   * @return the created client, or an error with {@link ConstraintViolationException} if the DTO
+   *     fails validation
+   */
+  public Mono<Client> createClient(ClientDto clientDto, Locale locale) {
+    return validateClientDto(clientDto, locale)
+        .map(
+            validClientDto -> {
+              final var client = new Client();
+              client.setFullName(validClientDto.getFullName());
+              client.setEmail(validClientDto.getEmail());
+              client.setPhoneNumber(validClientDto.getPhoneNumber());
+              client.setNormalizedPhoneNumber(
+                  PhoneNumberValidator.toE164(validClientDto.getPhoneNumber()).orElse(null));
+              return client;
+            })
+        .flatMap(clientRepository::save)
+        .doOnNext(client -> logger.info("Client created successfully with ID: {}", client.getId()));
+  }
+
+  /**
+   * Updates an active client with a single conditional statement. The existence of the client is
+   * only checked when nothing was updated, to tell a deleted client from a missing one.
+   *
+   * @param clientId the ID of the client to be updated
+   * @param clientDto the DTO containing the updated client information
+   * @param locale the locale of the error messages
+   * @return the updated client, or an error with {@link ConstraintViolationException}, {@link
+   *     ClientDeletedException} or {@link ClientNotFoundException}
+   */
+  public Mono<Client> updateClient(Long clientId, ClientDto clientDto, Locale locale) {
+    return validateClientDto(clientDto, locale)
+        .zipWith(auditorAware.getCurrentAuditor().defaultIfEmpty("INTERNAL"))
+        .flatMap(
+            dtoAndAuditor ->
+                clientRepository.updateActiveClient(
+                    clientId,
+                    clientDto.getFullName(),
+                    clientDto.getEmail(),
+                    clientDto.getPhoneNumber(),
+                    PhoneNumberValidator.toE164(clientDto.getPhoneNumber()).orElse(null),
+                    dtoAndAuditor.getT2()))
+        .flatMap(
+            updatedRows -> {
+              if (updatedRows > 0) {
+                return clientRepository.findById(clientId);
+              }
+              return clientRepository
+                  .existsById(clientId)
+                  .flatMap(
+                      exists -> {
+                        logger.warn("Attempt to update missing or deleted client: {}", clientId);
+                        return Mono.error(
+                            exists
+                                ? clientDeleted(clientId, locale)
+                                : clientNotFound(clientId, locale));
+                      });
+            })
+        .doOnNext(client -> logger.info("Client updated with ID: {}", clientId));
+  }
+
+  /**
+   * Deletes a client with the given ID if it exists and is not deleted yet.
+   *
+   * @param clientId the ID of the client to delete
+   * @return the completion of the deletion
+   */
+  public Mono<Void> deleteClient(Long clientId) {
+    logger.info("Attempting to delete client with ID: {}", clientId);
+    return clientRepository
+        .deactivateClient(clientId)
+        .doOnNext(
+            deletedRows -> {
+              if (deletedRows == 0) {
+                logger.warn("Client with ID: {} not found or already deleted", clientId);
+              } else {
+                logger.info("Client with ID: {} deleted", clientId);
+              }
+            })
+        .then();
+  }
+}
@@ -0,0 +1,23 @@
+CREATE SEQUENCE IF NOT EXISTS clients_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS clients (
+  id bigint DEFAULT NEXT VALUE FOR clients_seq PRIMARY KEY,
+  full_name varchar(255) NOT NULL,
+  email varchar(255) NOT NULL,
+  phone_number varchar(20) NOT NULL,
+  normalized_phone_number varchar(16),
+  deleted_at timestamp DEFAULT NULL,
+  created_by varchar(255) DEFAULT 'INTERNAL' NOT NULL,
+  created_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  modified_by varchar(255) DEFAULT 'INTERNAL' NOT NULL,
+  modified_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_clients_normalized_phone_number
+  ON clients (normalized_phone_number);
+
+CREATE INDEX IF NOT EXISTS idx_clients_deleted_at ON clients (deleted_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_clients_email ON clients (email);
+
+CREATE INDEX IF NOT EXISTS idx_clients_modified_at ON clients (modified_at);
@@ -0,0 +1,188 @@
+package io.github.antoniomayk.dxc.clients.reactive.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.reactive.entity.Client;
+import io.github.antoniomayk.dxc.clients.reactive.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ClientControllerTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Autowired private ClientRepository clientRepository;
+
+  private ClientDto testClientDto;
+
+  @BeforeEach
+  void setUp() {
+    clientRepository.deleteAll().block();
+
+    testClientDto = new ClientDto();
+    testClientDto.setFullName("John Doe");
+    testClientDto.setEmail("john.doe@example.com");
+    testClientDto.setPhoneNumber("+5588988397489");
+  }
+
+  private WebTestClient authenticated() {
+    return webTestClient.mutate().defaultHeaders(h -> h.setBasicAuth("admin", "admin")).build();
+  }
+
+  private Client createClient(ClientDto clientDto) {
+    return authenticated()
+        .post()
+        .uri("/api/v1/clients")
+        .bodyValue(clientDto)
+        .exchange()
+        .expectStatus()
+        .isCreated()
+        .expectBody(Client.class)
+        .returnResult()
+        .getResponseBody();
+  }
+
+  @Test
+  void createClient_ShouldPersistNormalizedAndAuditedClient() {
+    final var client = createClient(testClientDto);
+
+    assertThat(client.getId()).isNotNull();
+    assertThat(client.getCreatedBy()).isEqualTo("admin");
+    assertThat(client.getNormalizedPhoneNumber()).isEqualTo("+5588988397489");
+
+    authenticated()
+        .get()
+        .uri("/api/v1/clients/{id}", client.getId())
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.fullName")
+        .isEqualTo("John Doe")
+        .jsonPath("$.deletedAt")
+        .doesNotExist();
+  }
+
+  @Test
+  void createClient_WithInvalidData_ShouldReturnBadRequest() {
+    testClientDto.setEmail("invalid-email");
+    testClientDto.setPhoneNumber("123");
+
+    authenticated()
+        .post()
+        .uri("/api/v1/clients")
+        .bodyValue(testClientDto)
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.errors.email")
+        .exists()
+        .jsonPath("$.errors.phoneNumber")
+        .exists();
+  }
+
+  @Test
+  void getAllClients_ShouldStreamActiveClientsAsNdjson() {
+    final var first = createClient(testClientDto);
+    testClientDto.setEmail("jane.doe@example.com");
+    final var second = createClient(testClientDto);
+    authenticated()
+        .delete()
+        .uri("/api/v1/clients/{id}", first.getId())
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    final var clients =
+        authenticated()
+            .get()
+            .uri("/api/v1/clients")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(Client.class)
+            .getResponseBody();
+
+    StepVerifier.create(clients)
+        .assertNext(client -> assertThat(client.getId()).isEqualTo(second.getId()))
+        .verifyComplete();
+  }
+
+  @Test
+  void updateClient_ShouldUpdateClient() {
+    final var client = createClient(testClientDto);
+    testClientDto.setFullName("John Updated");
+
+    authenticated()
+        .put()
+        .uri("/api/v1/clients/{id}", client.getId())
+        .bodyValue(testClientDto)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.fullName")
+        .isEqualTo("John Updated")
+        .jsonPath("$.modifiedBy")
+        .isEqualTo("admin");
+  }
+
+  @Test
+  void updateClient_WhenClientNotFound_ShouldReturnNotFound() {
+    authenticated()
+        .put()
+        .uri("/api/v1/clients/{id}", 999L)
+        .bodyValue(testClientDto)
+        .exchange()
+        .expectStatus()
+        .isNotFound()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("Client with ID 999 was not found");
+  }
+
+  @Test
+  void deleteClient_ShouldSoftDeleteClient() {
+    final var client = createClient(testClientDto);
+
+    authenticated()
+        .delete()
+        .uri("/api/v1/clients/{id}", client.getId())
+        .exchange()
+        .expectStatus()
+        .isOk();
+
+    authenticated()
+        .get()
+        .uri("/api/v1/clients/{id}", client.getId())
+        .exchange()
+        .expectStatus()
+        .isNotFound();
+    authenticated()
+        .put()
+        .uri("/api/v1/clients/{id}", client.getId())
+        .bodyValue(testClientDto)
+        .exchange()
+        .expectStatus()
+        .isNotFound();
+    StepVerifier.create(clientRepository.findById(client.getId()))
+        .assertNext(deleted -> assertThat(deleted.getDeletedAt()).isNotNull())
+        .verifyComplete();
+  }
+
+  @Test
+  void getAllClients_WithoutCredentials_ShouldReturnUnauthorized() {
+    webTestClient.get().uri("/api/v1/clients").exchange().expectStatus().isUnauthorized();
+  }
+}
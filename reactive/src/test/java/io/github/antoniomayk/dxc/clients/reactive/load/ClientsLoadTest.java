@@ -0,0 +1,315 @@
+package io.github.antoniomayk.dxc.clients.reactive.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the servlet and the reactive API under a burst of concurrent connections. Both
+ * applications must already be running, the reactive one with an empty database, as its list
+ * endpoint streams every active client:
+ *
+ * <pre>
+ * mvn spring-boot:run                                  (servlet API, port 8080)
+ * mvn -f reactive/pom.xml spring-boot:run              (reactive API, port 8081)
+ * mvn -f reactive/pom.xml test -DexcludedGroups= -Dgroups=load
+ * </pre>
+ *
+ * <p>Every target is seeded with {@code load.clients} clients, then {@code load.connections}
+ * requests listing that many clients are sent at once, each on its own connection. The burst is
+ * repeated {@code load.rounds} times, so a load too light to saturate the target still lasts long
+ * enough to be sampled. While the requests run, the database connections in use and the live
+ * threads of the target are sampled from {@code /actuator/prometheus}. The latency percentiles,
+ * errors and peaks are printed for each target, along with the number of successful samples. The
+ * run fails if every sample of a target failed or never reported one of the metrics, rather than
+ * printing a peak it did not observe.
+ *
+ * <p>Opening 10,000 connections needs a file descriptor limit above 20,000 when both ends run on
+ * the same machine ({@code ulimit -n}).
+ */
+@Tag("load")
+class ClientsLoadTest {
+  private static final String AUTHORIZATION =
+      "Basic "
+          + Base64.getEncoder()
+              .encodeToString(
+                  (System.getProperty("load.username", "admin")
+                          + ":"
+                          + System.getProperty("load.password", "admin"))
+                      .getBytes(StandardCharsets.UTF_8));
+
+  private static final int CONNECTIONS = Integer.getInteger("load.connections", 10_000);
+  private static final int ROUNDS = Integer.getInteger("load.rounds", 1);
+  private static final int CLIENTS = Integer.getInteger("load.clients", 20);
+  private static final Duration TIMEOUT =
+      Duration.ofSeconds(Long.getLong("load.timeout-seconds", 60));
+
+  private static final String SERVLET_CONNECTION_METRIC = "hikaricp_connections_active";
+  private static final String REACTIVE_CONNECTION_METRIC = "r2dbc_pool_acquired_connections";
+  private static final String THREAD_METRIC = "jvm_threads_live_threads";
+
+  @Test
+  void compareServletAndReactive() throws Exception {
+    final var servlet =
+        run(
+            "servlet",
+            System.getProperty("load.servlet.url", "http://localhost:8080"),
+            "/api/v1/clients?limit=" + CLIENTS,
+            SERVLET_CONNECTION_METRIC);
+    final var reactive =
+        run(
+            "reactive",
+            System.getProperty("load.reactive.url", "http://localhost:8081"),
+            "/api/v1/clients",
+            REACTIVE_CONNECTION_METRIC);
+
+    System.out.println(Result.HEADER);
+    System.out.println(servlet);
+    System.out.println(reactive);
+
+    assertThat(servlet.succeeded).isPositive();
+    assertThat(reactive.succeeded).isPositive();
+  }
+
+  private Result run(String name, String baseUrl, String path, String connectionMetric)
+      throws Exception {
+    final var seedClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    for (var i = 0; i < CLIENTS; i++) {
+      final var body =
+          String.format(
+              "{\"fullName\":\"Load Test %d\",\"email\":\"load.%d@example.com\","
+                  + "\"phoneNumber\":\"+5588988397489\"}",
+              i, i);
+      final var response =
+          seedClient.send(
+              request(baseUrl + "/api/v1/clients")
+                  .header("Content-Type", "application/json")
+                  .POST(HttpRequest.BodyPublishers.ofString(body))
+                  .build(),
+              HttpResponse.BodyHandlers.discarding());
+      assertThat(response.statusCode()).as("seeding %s", name).isEqualTo(201);
+    }
+
+    final var sampler =
+        new MetricSampler(seedClient, baseUrl, List.of(connectionMetric, THREAD_METRIC));
+    final var scheduler = Executors.newSingleThreadScheduledExecutor();
+    scheduler.scheduleWithFixedDelay(sampler::sample, 0, 100, TimeUnit.MILLISECONDS);
+
+    // A dedicated client, so every in-flight request opens its own HTTP/1.1 connection.
+    final var loadClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+    final var latencies = new long[CONNECTIONS * ROUNDS];
+    final var failed = new AtomicInteger();
+    final var started = System.nanoTime();
+    for (var round = 0; round < ROUNDS; round++) {
+      final var futures = new ArrayList<CompletableFuture<?>>(CONNECTIONS);
+      for (var i = 0; i < CONNECTIONS; i++) {
+        final var index = round * CONNECTIONS + i;
+        final var sentAt = System.nanoTime();
+        futures.add(
+            loadClient
+                .sendAsync(
+                    request(baseUrl + path).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .handle(
+                    (response, error) -> {
+                      latencies[index] = System.nanoTime() - sentAt;
+                      if (error != null || response.statusCode() != 200) {
+                        failed.incrementAndGet();
+                      }
+                      return null;
+                    }));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+    final var elapsed = System.nanoTime() - started;
+
+    // Lets a sample in progress complete, and takes a last one so short runs are sampled too.
+    scheduler.shutdown();
+    scheduler.awaitTermination(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    sampler.sample();
+    sampler.verify(name);
+    return new Result(
+        name,
+        latencies,
+        failed.get(),
+        elapsed,
+        sampler.peak(connectionMetric),
+        sampler.peak(THREAD_METRIC),
+        sampler.attempts.get() - sampler.failures.get(),
+        sampler.attempts.get());
+  }
+
+  private HttpRequest.Builder request(String url) {
+    return HttpRequest.newBuilder(URI.create(url))
+        .timeout(TIMEOUT)
+        .header("Authorization", AUTHORIZATION);
+  }
+
+  /** Records the peaks of some gauges of a target while the requests run. */
+  private final class MetricSampler {
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> metrics;
+    private final Map<String, Long> peaks = new ConcurrentHashMap<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile Exception lastFailure;
+
+    MetricSampler(HttpClient client, String baseUrl, List<String> metrics) {
+      this.client = client;
+      this.baseUrl = baseUrl;
+      this.metrics = metrics;
+    }
+
+    void sample() {
+      final HttpResponse<String> response;
+      try {
+        response =
+            client.send(
+                request(baseUrl + "/actuator/prometheus").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException e) {
+        fail(e);
+        return;
+      }
+      if (response.statusCode() != 200) {
+        fail(new IllegalStateException("Unexpected status " + response.statusCode()));
+        return;
+      }
+      attempts.incrementAndGet();
+      final var values = new HashMap<String, Long>();
+      response
+          .body()
+          .lines()
+          .filter(line -> !line.startsWith("#"))
+          .forEach(
+              line -> {
+                final var metric = line.split("[{ ]", 2)[0];
+                if (metrics.contains(metric)) {
+                  final var value =
+                      (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                  values.merge(metric, value, Long::sum);
+                }
+              });
+      values.forEach((metric, value) -> peaks.merge(metric, value, Math::max));
+    }
+
+    private void fail(Exception e) {
+      // The target may be saturated, the next sample tries again.
+      attempts.incrementAndGet();
+      failures.incrementAndGet();
+      lastFailure = e;
+    }
+
+    long peak(String metric) {
+      return peaks.get(metric);
+    }
+
+    void verify(String name) {
+      if (attempts.get() == 0) {
+        throw new AssertionError("No metric sample of " + name + " completed");
+      }
+      if (failures.get() == attempts.get()) {
+        throw new AssertionError(
+            String.format("All %d metric samples of %s failed", attempts.get(), name), lastFailure);
+      }
+      for (final var metric : metrics) {
+        assertThat(peaks).as("%s never reported %s", name, metric).containsKey(metric);
+      }
+    }
+  }
+
+  private static final class Result {
+    static final String HEADER =
+        String.format(
+            "%-9s %8s %7s %9s %9s %9s %9s %12s %8s %9s",
+            "stack",
+            "requests",
+            "errors",
+            "p50 ms",
+            "p99 ms",
+            "max ms",
+            "req/s",
+            "db conns",
+            "threads",
+            "samples");
+
+    final String name;
+    final long[] latencies;
+    final int failed;
+    final int succeeded;
+    final long elapsedNanos;
+    final long connections;
+    final long threads;
+    final int samples;
+    final int attempts;
+
+    Result(
+        String name,
+        long[] latencies,
+        int failed,
+        long elapsedNanos,
+        long connections,
+        long threads,
+        int samples,
+        int attempts) {
+      this.name = name;
+      this.latencies = latencies.clone();
+      Arrays.sort(this.latencies);
+      this.failed = failed;
+      this.succeeded = latencies.length - failed;
+      this.elapsedNanos = elapsedNanos;
+      this.connections = connections;
+      this.threads = threads;
+      this.samples = samples;
+      this.attempts = attempts;
+    }
+
+    double percentileMillis(double percentile) {
+      final var index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+      return latencies[Math.max(index, 0)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%-9s %8d %7d %9.1f %9.1f %9.1f %9.0f %12d %8d %9s",
+          name,
+          latencies.length,
+          failed,
+          percentileMillis(50),
+          percentileMillis(99),
+          percentileMillis(100),
+          latencies.length / (elapsedNanos / 1e9),
+          connections,
+          threads,
+          samples + "/" + attempts);
+    }
+  }
+}
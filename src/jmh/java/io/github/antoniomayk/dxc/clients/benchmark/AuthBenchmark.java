@@ -0,0 +1,103 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.antoniomayk.dxc.clients.dto.TokenResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures the throughput, in requests per second, of an authenticated request to {@code
+ * /actuator/health} over HTTP, with the following kinds of authentication:
+ *
+ * <ul>
+ *   <li>{@code basic-uncached}: HTTP Basic with the credentials cache disabled, so the password is
+ *       hashed with bcrypt on every request.
+ *   <li>{@code basic}: HTTP Basic with the credentials cache enabled.
+ *   <li>{@code bearer}: an access token issued by {@code POST /api/v1/auth/token}.
+ * </ul>
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+  private static final String BASIC_CREDENTIALS =
+      "Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+
+  @Param({"basic-uncached", "basic", "bearer"})
+  private String authentication;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient httpClient;
+  private HttpRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, InterruptedException {
+    context =
+        "basic-uncached".equals(authentication)
+            ? BenchmarkApplication.start("clients.security.credentials-cache.maximum-size=0")
+            : BenchmarkApplication.start();
+    final var baseUri =
+        URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    httpClient = HttpClient.newHttpClient();
+
+    var authorization = BASIC_CREDENTIALS;
+    if ("bearer".equals(authentication)) {
+      final var tokenResponse =
+          httpClient.send(
+              HttpRequest.newBuilder(baseUri.resolve("/api/v1/auth/token"))
+                  .header("Authorization", BASIC_CREDENTIALS)
+                  .POST(HttpRequest.BodyPublishers.noBody())
+                  .build(),
+              HttpResponse.BodyHandlers.ofByteArray());
+      final var token =
+          context.getBean(ObjectMapper.class).readValue(tokenResponse.body(), TokenResponse.class);
+      authorization = "Bearer " + token.getAccessToken();
+    }
+
+    request =
+        HttpRequest.newBuilder(baseUri.resolve("/actuator/health"))
+            .header("Authorization", authorization)
+            .GET()
+            .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int authenticatedRequest() throws IOException, InterruptedException {
+    final var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Unexpected status: " + response.statusCode());
+    }
+    return response.statusCode();
+  }
+}
@@ -0,0 +1,35 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import io.github.antoniomayk.dxc.clients.App;
+import java.util.stream.Stream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application for benchmarks that need the Spring context, against the embedded H2
+ * database of the {@code test} profile.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class BenchmarkApplication {
+  private BenchmarkApplication() {}
+
+  /**
+   * Starts the application on a random port, with logging reduced to warnings. The {@code test}
+   * profile leaves the database empty, as the mock data initializer is disabled.
+   *
+   * <p>The properties are passed as command line arguments, so they take precedence over {@code
+   * application.properties}.
+   *
+   * @param properties additional properties, in {@code key=value} form
+   * @return the started application context
+   */
+  static ConfigurableApplicationContext start(String... properties) {
+    final var args =
+        Stream.concat(Stream.of("server.port=0", "logging.level.root=WARN"), Stream.of(properties))
+            .map(property -> "--" + property)
+            .toArray(String[]::new);
+    return new SpringApplicationBuilder(App.class).profiles("test").run(args);
+  }
+}
@@ -0,0 +1,109 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import io.github.antoniomayk.dxc.clients.search.ClientSearchIndex;
+import io.github.antoniomayk.dxc.clients.service.ClientService;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures single-client CRUD operations against the embedded H2 database, through {@link
+ * ClientRepository} and through {@link ClientService#createClient}, which also validates the DTO
+ * and keeps the cache and the search index up to date.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientCrudBenchmark {
+  private ConfigurableApplicationContext context;
+  private ClientRepository clientRepository;
+  private ClientService clientService;
+  private ClientSearchIndex searchIndex;
+  private ClientDto clientDto;
+  private Long clientId;
+
+  private static Client newClient() {
+    final var client = new Client();
+    client.setFullName("John Doe");
+    client.setEmail("john.doe@example.com");
+    client.setPhoneNumber("+5588988397489");
+    client.setNormalizedPhoneNumber("+5588988397489");
+    return client;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start();
+    clientRepository = context.getBean(ClientRepository.class);
+    clientService = context.getBean(ClientService.class);
+    searchIndex = context.getBean(ClientSearchIndex.class);
+
+    clientDto = new ClientDto();
+    clientDto.setFullName("John Doe");
+    clientDto.setEmail("john.doe@example.com");
+    clientDto.setPhoneNumber("+5588988397489");
+  }
+
+  @Setup(Level.Iteration)
+  public void insertClient() {
+    clientId = clientRepository.save(newClient()).getId();
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteClients() {
+    clientRepository.deleteAllInBatch();
+    searchIndex.rebuild();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Client save() {
+    return clientRepository.save(newClient());
+  }
+
+  @Benchmark
+  public Client createClient() {
+    return clientService.createClient(clientDto);
+  }
+
+  @Benchmark
+  public Optional<Client> findById() {
+    return clientRepository.findById(clientId);
+  }
+
+  @Benchmark
+  public int updateActiveClient() {
+    return clientRepository.updateActiveClient(
+        clientId, "Jane Doe", "jane.doe@example.com", "+5588988397489", "+5588988397489", "admin");
+  }
+
+  @Benchmark
+  public int saveAndDeactivate() {
+    return clientRepository.deactivateClient(clientRepository.save(newClient()).getId());
+  }
+}
@@ -0,0 +1,78 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Measures the insert throughput, in rows per second, of {@link ClientRepository#saveAll} for
+ * different {@code clients.id.allocation-size} values. An allocation size of {@code 1} reproduces
+ * the former mapping, which needed a sequence round trip per inserted row.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ClientInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientInsertBenchmark {
+  static final int ROWS = 1000;
+
+  @Param({"1", "50"})
+  private int allocationSize;
+
+  private ConfigurableApplicationContext context;
+  private ClientRepository clientRepository;
+  private TransactionTemplate transactionTemplate;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start("clients.id.allocation-size=" + allocationSize);
+    clientRepository = context.getBean(ClientRepository.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+  }
+
+  @TearDown(Level.Iteration)
+  public void deleteClients() {
+    clientRepository.deleteAllInBatch();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void saveAll() {
+    final var clients = new ArrayList<Client>(ROWS);
+    for (var i = 0; i < ROWS; i++) {
+      final var client = new Client();
+      client.setFullName("John Doe " + i);
+      client.setEmail("john.doe." + i + "@example.com");
+      client.setPhoneNumber("+5588988397489");
+      clients.add(client);
+    }
+    transactionTemplate.executeWithoutResult(status -> clientRepository.saveAll(clients));
+  }
+}
@@ -0,0 +1,104 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import io.github.antoniomayk.dxc.clients.service.ClientDataGenerator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares reading a page of clients as {@link ClientView} projections, as list reads do, with
+ * reading them as managed {@link Client} entities held by a request-scoped persistence context, as
+ * they were with {@code spring.jpa.open-in-view} enabled.
+ *
+ * <p>Run with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by {@code limit} to get the
+ * bytes allocated per listed client.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientReadBenchmark {
+  @Param({"100", "1000"})
+  private int limit;
+
+  private ConfigurableApplicationContext context;
+  private ClientRepository clientRepository;
+  private EntityManagerFactory entityManagerFactory;
+  private EntityManager entityManager;
+  private TransactionTemplate readOnlyTransaction;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkApplication.start();
+    clientRepository = context.getBean(ClientRepository.class);
+    entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    readOnlyTransaction =
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTransaction.setReadOnly(true);
+    context.getBean(ClientDataGenerator.class).generate(limit, 42L, 1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    clientRepository.deleteAllInBatch();
+    context.close();
+  }
+
+  @Benchmark
+  public List<ClientView> views() {
+    return readOnlyTransaction.execute(
+        status -> clientRepository.findActiveClientsAfter(0L, PageRequest.of(0, limit)));
+  }
+
+  @Benchmark
+  public List<Client> managedEntities() {
+    final var requestEntityManager = entityManagerFactory.createEntityManager();
+    TransactionSynchronizationManager.bindResource(
+        entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+    try {
+      return readOnlyTransaction.execute(
+          status ->
+              entityManager
+                  .createQuery(
+                      "SELECT c FROM Client c WHERE c.deletedAt IS NULL AND c.id > ?1 ORDER BY"
+                          + " c.id",
+                      Client.class)
+                  .setParameter(1, 0L)
+                  .setMaxResults(limit)
+                  .getResultList());
+    } finally {
+      TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+      requestEntityManager.close();
+    }
+  }
+}
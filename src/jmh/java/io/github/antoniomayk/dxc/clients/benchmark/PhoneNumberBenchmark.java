@@ -0,0 +1,57 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberFormat;
+import io.github.antoniomayk.dxc.clients.validator.PhoneNumberValidator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures phone number validation through {@link PhoneNumberValidator}, whose parse results are
+ * memoized, against parsing every number with {@link PhoneNumberUtil}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhoneNumberBenchmark {
+  private static final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+
+  @Param({"+5588988397489", "+1-555-123-4567", "not-a-phone-number"})
+  private String phoneNumber;
+
+  private final PhoneNumberValidator validator = new PhoneNumberValidator();
+
+  @Benchmark
+  public boolean isValid() {
+    return validator.isValid(phoneNumber, null);
+  }
+
+  @Benchmark
+  public Optional<String> parseWithoutCache() {
+    try {
+      final var parsedPhoneNumber = phoneUtil.parse(phoneNumber, null);
+      return phoneUtil.isValidNumber(parsedPhoneNumber)
+          ? Optional.of(phoneUtil.format(parsedPhoneNumber, PhoneNumberFormat.E164))
+          : Optional.empty();
+    } catch (NumberParseException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures the serialization of lists of {@link Client} entities to each format the API negotiates,
+ * with an {@code ObjectMapper} built with the same modules as the one used by Spring MVC and,
+ * optionally, the gzip compression applied by the server. The size of the response body is reported
+ * as the {@code bytes} secondary result, which JMH sums over the measurement iterations.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+  @Param({"1", "100", "10000"})
+  private int size;
+
+  @Param({"json", "smile", "cbor"})
+  private String format;
+
+  @Param({"false", "true"})
+  private boolean gzip;
+
+  private ObjectWriter writer;
+  private List<Client> clients;
+
+  /** Reports the size of the last serialized body. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Wire {
+    public long bytes;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Jackson2ObjectMapperBuilder builder;
+    switch (format) {
+      case "smile":
+        builder = Jackson2ObjectMapperBuilder.smile();
+        break;
+      case "cbor":
+        builder = Jackson2ObjectMapperBuilder.cbor();
+        break;
+      default:
+        builder = Jackson2ObjectMapperBuilder.json();
+    }
+    writer = builder.build().writerFor(new TypeReference<List<Client>>() {});
+    clients = new ArrayList<>(size);
+    final var now = LocalDateTime.now();
+    for (var i = 0; i < size; i++) {
+      final var client = new Client();
+      client.setId((long) i);
+      client.setFullName("John Doe " + i);
+      client.setEmail("john.doe." + i + "@example.com");
+      client.setPhoneNumber("+5588988397489");
+      client.setNormalizedPhoneNumber("+5588988397489");
+      client.setCreatedBy("admin");
+      client.setCreatedAt(now);
+      client.setModifiedBy("admin");
+      client.setModifiedAt(now);
+      clients.add(client);
+    }
+  }
+
+  @Benchmark
+  public byte[] writeClients(Wire wire) throws IOException {
+    final var body = new ByteArrayOutputStream();
+    if (gzip) {
+      try (var compressed = new GZIPOutputStream(body)) {
+        writer.writeValue(compressed, clients);
+      }
+    } else {
+      writer.writeValue(body, clients);
+    }
+    wire.bytes = body.size();
+    return body.toByteArray();
+  }
+}
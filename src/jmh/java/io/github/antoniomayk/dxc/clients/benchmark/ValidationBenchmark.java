@@ -0,0 +1,79 @@
+package io.github.antoniomayk.dxc.clients.benchmark;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * Measures the bean validation of a {@link ClientDto}, with the validator configured as in {@link
+ * io.github.antoniomayk.dxc.clients.config.MessageSourceConfig}. Invalid DTOs also pay for the
+ * interpolation of the messages of their violations.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+  private LocalValidatorFactoryBean validatorFactory;
+  private Validator validator;
+  private ClientDto validClientDto;
+  private ClientDto invalidClientDto;
+
+  private static ClientDto clientDto(String fullName, String email, String phoneNumber) {
+    final var clientDto = new ClientDto();
+    clientDto.setFullName(fullName);
+    clientDto.setEmail(email);
+    clientDto.setPhoneNumber(phoneNumber);
+    return clientDto;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final var messageSource = new ResourceBundleMessageSource();
+    messageSource.setBasename("i18n/messages");
+    messageSource.setDefaultEncoding("UTF-8");
+    validatorFactory = new LocalValidatorFactoryBean();
+    validatorFactory.setValidationMessageSource(messageSource);
+    validatorFactory.afterPropertiesSet();
+    validator = validatorFactory.getValidator();
+
+    validClientDto = clientDto("John Doe", "john.doe@example.com", "+5588988397489");
+    invalidClientDto = clientDto("J", "not-an-email", "+55889");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<ClientDto>> validateValidClientDto() {
+    return validator.validate(validClientDto);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<ClientDto>> validateInvalidClientDto() {
+    return validator.validate(invalidClientDto);
+  }
+}
@@ -2,6 +2,7 @@ package io.github.antoniomayk.dxc.clients;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 /**
@@ -11,6 +12,7 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
  * @since 0.1
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableSwagger2
 public class App {
   public static void main(String[] args) {
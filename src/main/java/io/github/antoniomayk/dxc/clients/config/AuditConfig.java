@@ -9,7 +9,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * Implements a {@link AuditorAware} to set the current user as the auditor for entities that
- * support auditing. If no user is authenticated, the auditor will be set to "SPRING_API".
+ * support auditing. If no user is authenticated, the auditor will be set to {@value
+ * #DEFAULT_AUDITOR}.
  *
  * @author Antonio Mayk
  * @since 0.1
@@ -17,13 +18,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @Configuration
 @EnableJpaAuditing(auditorAwareRef = "auditorProvider")
 public class AuditConfig {
+  /** Auditor of the changes made without an authenticated user. */
+  public static final String DEFAULT_AUDITOR = "SPRING_API";
+
   @Bean
   AuditorAware<String> auditorProvider() {
     return () -> {
       final var authentication = SecurityContextHolder.getContext().getAuthentication();
 
       if (authentication == null) {
-        return Optional.of("SPRING_API");
+        return Optional.of(DEFAULT_AUDITOR);
       }
 
       return Optional.ofNullable(authentication.getName());
@@ -0,0 +1,21 @@
+package io.github.antoniomayk.dxc.clients.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the caching of clients by ID. The caches, their size and TTL are configured through the
+ * {@code spring.cache.*} properties, and their statistics are exposed through Actuator.
+ *
+ * <p>The caching advice is ordered before the transactional advice, so cache entries are only
+ * written or evicted once the surrounding transaction has completed.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+  public static final String CLIENTS_CACHE = "clients";
+}
@@ -0,0 +1,744 @@
+package io.github.antoniomayk.dxc.clients.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Tunable settings of the clients API, bound from the {@code clients.*} properties.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ConfigurationProperties(prefix = "clients")
+public class ClientProperties {
+  private final Bulk bulk = new Bulk();
+  private final Security security = new Security();
+  private final Async async = new Async();
+  private final Journal journal = new Journal();
+  private final Events events = new Events();
+  private final Generator generator = new Generator();
+  private final Archive archive = new Archive();
+  private final Dedup dedup = new Dedup();
+  private final Stats stats = new Stats();
+  private final Idempotency idempotency = new Idempotency();
+  private final RateLimit rateLimit = new RateLimit();
+  private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+  private final Export export = new Export();
+
+  public Bulk getBulk() {
+    return bulk;
+  }
+
+  public Security getSecurity() {
+    return security;
+  }
+
+  public Async getAsync() {
+    return async;
+  }
+
+  public Journal getJournal() {
+    return journal;
+  }
+
+  public Events getEvents() {
+    return events;
+  }
+
+  public Generator getGenerator() {
+    return generator;
+  }
+
+  public Archive getArchive() {
+    return archive;
+  }
+
+  public Dedup getDedup() {
+    return dedup;
+  }
+
+  public Stats getStats() {
+    return stats;
+  }
+
+  public Idempotency getIdempotency() {
+    return idempotency;
+  }
+
+  public RateLimit getRateLimit() {
+    return rateLimit;
+  }
+
+  public ConcurrencyLimit getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  public Export getExport() {
+    return export;
+  }
+
+  /** Settings of the bulk create endpoint. */
+  public static class Bulk {
+    /**
+     * Number of clients inserted per JDBC batch. Should match {@code hibernate.jdbc.batch_size}.
+     */
+    private int batchSize = 100;
+
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+  }
+
+  /** Settings of the asynchronous execution of the client endpoints. */
+  public static class Async {
+    /**
+     * Whether the service calls of the client endpoints run on a dedicated executor, releasing the
+     * servlet container thread while they wait for the database. When disabled, they run on the
+     * container thread.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of threads of the executor. When {@code 0}, it matches the maximum size of the
+     * connection pool, as every task holds a connection.
+     */
+    private int poolSize = 0;
+
+    /** Number of tasks that can wait for a thread before requests are rejected with a 503. */
+    private int queueCapacity = 100;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getPoolSize() {
+      return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+      this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+  }
+
+  /** Settings of the change journal of client mutations. */
+  public static class Journal {
+    /** Whether client changes are appended to the journal. */
+    private boolean enabled = false;
+
+    /** Directory of the journal segments. Only one application may use it at a time. */
+    private Path directory = Path.of("journal");
+
+    /** Size of each segment file. Changes are appended to a new segment once it is full. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Number of segments kept on disk. The oldest segments are deleted when a new one is created.
+     */
+    private int retainedSegments = 16;
+
+    /**
+     * Interval at which appended changes are forced to disk. Changes appended in between are lost
+     * if the machine crashes, but not if only the application does. When {@code 0}, every change is
+     * forced to disk before the request completes.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Path getDirectory() {
+      return directory;
+    }
+
+    public void setDirectory(Path directory) {
+      this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+      return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+      this.segmentSize = segmentSize;
+    }
+
+    public int getRetainedSegments() {
+      return retainedSegments;
+    }
+
+    public void setRetainedSegments(int retainedSegments) {
+      this.retainedSegments = retainedSegments;
+    }
+
+    public Duration getFlushInterval() {
+      return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+      this.flushInterval = flushInterval;
+    }
+  }
+
+  /** Settings of the synthetic client data generator. */
+  public static class Generator {
+    /** Number of clients generated at startup, except with the {@code test} profile. */
+    private long rows = 1000;
+
+    /**
+     * Seed of the generated data. The same seed and number of threads generate the same clients.
+     * When empty, a random seed is used.
+     */
+    private Long seed;
+
+    /** Number of threads generating clients. When {@code 0}, one per available processor. */
+    private int threads = 0;
+
+    /** Number of clients inserted per JDBC batch. */
+    private int batchSize = 1000;
+
+    public long getRows() {
+      return rows;
+    }
+
+    public void setRows(long rows) {
+      this.rows = rows;
+    }
+
+    public Long getSeed() {
+      return seed;
+    }
+
+    public void setSeed(Long seed) {
+      this.seed = seed;
+    }
+
+    public int getThreads() {
+      return threads;
+    }
+
+    public void setThreads(int threads) {
+      this.threads = threads;
+    }
+
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+  }
+
+  /** Settings of the archival of deleted clients. */
+  public static class Archive {
+    /** Whether deleted clients are periodically moved to the {@code clients_archive} table. */
+    private boolean enabled = true;
+
+    /** Time a deleted client stays in the {@code clients} table before it is archived. */
+    private Duration retention = Duration.ofDays(30);
+
+    /** Interval between the end of an archival run and the start of the next one. */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /** Number of clients moved per transaction. */
+    private int chunkSize = 500;
+
+    /** Maximum number of clients moved per second, to leave the database to live traffic. */
+    private int maxRowsPerSecond = 5000;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Duration getRetention() {
+      return retention;
+    }
+
+    public void setRetention(Duration retention) {
+      this.retention = retention;
+    }
+
+    public Duration getInterval() {
+      return interval;
+    }
+
+    public void setInterval(Duration interval) {
+      this.interval = interval;
+    }
+
+    public int getChunkSize() {
+      return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+
+    public int getMaxRowsPerSecond() {
+      return maxRowsPerSecond;
+    }
+
+    public void setMaxRowsPerSecond(int maxRowsPerSecond) {
+      this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+  }
+
+  /** Settings of the detection of duplicate clients. */
+  public static class Dedup {
+    /** Number of threads comparing clients. When {@code 0}, one per available processor. */
+    private int parallelism = 0;
+
+    /**
+     * Maximum number of clients sharing a key that are compared with each other. Larger blocks,
+     * such as a very common name, are skipped, as the key tells little about the clients and
+     * comparing them would take quadratic time. Their duplicates are still found through the other
+     * keys.
+     */
+    private int maxBlockSize = 1000;
+
+    /**
+     * Minimum score of two clients to be reported as duplicates. The same email is worth {@code
+     * 0.5}, the same phone number {@code 0.4} and a similar name {@code 0.3}, so with {@code 0.7}
+     * any two of them are needed.
+     */
+    private double threshold = 0.7;
+
+    /** Time allowed to find and stream the duplicate clients. */
+    private Duration timeout = Duration.ofHours(1);
+
+    public int getParallelism() {
+      return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+    }
+
+    public int getMaxBlockSize() {
+      return maxBlockSize;
+    }
+
+    public void setMaxBlockSize(int maxBlockSize) {
+      this.maxBlockSize = maxBlockSize;
+    }
+
+    public double getThreshold() {
+      return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+      this.threshold = threshold;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+  /** Settings of the aggregate statistics of clients. */
+  public static class Stats {
+    /**
+     * Interval between two reconciliations of the statistics with the database, which correct the
+     * changes made without going through the service, such as generated or archived clients.
+     */
+    private Duration interval = Duration.ofMinutes(10);
+
+    /** Number of email domains reported, from the most common. */
+    private int topDomains = 10;
+
+    /** Number of days, up to today, whose client creations are reported. */
+    private int days = 30;
+
+    /**
+     * Maximum number of email domains counted. Domains first seen once the limit is reached are not
+     * counted until a reconciliation ranks them among the most common.
+     */
+    private int maxDomains = 10000;
+
+    public Duration getInterval() {
+      return interval;
+    }
+
+    public void setInterval(Duration interval) {
+      this.interval = interval;
+    }
+
+    public int getTopDomains() {
+      return topDomains;
+    }
+
+    public void setTopDomains(int topDomains) {
+      this.topDomains = topDomains;
+    }
+
+    public int getDays() {
+      return days;
+    }
+
+    public void setDays(int days) {
+      this.days = days;
+    }
+
+    public int getMaxDomains() {
+      return maxDomains;
+    }
+
+    public void setMaxDomains(int maxDomains) {
+      this.maxDomains = maxDomains;
+    }
+  }
+
+  /** Settings of the {@code Idempotency-Key} support of client creation. */
+  public static class Idempotency {
+    /** Maximum number of keys whose responses are kept in memory. */
+    private long maximumSize = 100_000;
+
+    /** Time during which a key is answered with the response to its first request. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Whether responses are also stored in the {@code clients_idempotency_keys} table, in the
+     * transaction creating the client, so keys are honored across restarts and instances.
+     */
+    private boolean tableEnabled = false;
+
+    /** Interval between two deletions of the expired keys from the table. */
+    private Duration cleanupInterval = Duration.ofHours(1);
+
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+      return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+
+    public boolean isTableEnabled() {
+      return tableEnabled;
+    }
+
+    public void setTableEnabled(boolean tableEnabled) {
+      this.tableEnabled = tableEnabled;
+    }
+
+    public Duration getCleanupInterval() {
+      return cleanupInterval;
+    }
+
+    public void setCleanupInterval(Duration cleanupInterval) {
+      this.cleanupInterval = cleanupInterval;
+    }
+  }
+
+  /** Settings of the Server-Sent Events feed of client changes. */
+  public static class RateLimit {
+    /** Whether the requests of every user are limited to a sustained rate. */
+    private boolean enabled = true;
+
+    /** Sustained number of requests per second allowed to every user. */
+    private double requestsPerSecond = 100;
+
+    /** Number of requests a user can send at once, on top of the sustained rate. */
+    private int burst = 200;
+
+    /** Maximum number of users whose request rate is tracked. */
+    private long maxPrincipals = 10_000;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public double getRequestsPerSecond() {
+      return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+      this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getBurst() {
+      return burst;
+    }
+
+    public void setBurst(int burst) {
+      this.burst = burst;
+    }
+
+    public long getMaxPrincipals() {
+      return maxPrincipals;
+    }
+
+    public void setMaxPrincipals(long maxPrincipals) {
+      this.maxPrincipals = maxPrincipals;
+    }
+  }
+
+  public static class ConcurrencyLimit {
+    /** Whether requests beyond the adaptive concurrency limit are rejected. */
+    private boolean enabled = true;
+
+    /** Number of concurrent requests allowed at startup. */
+    private int initialLimit = 20;
+
+    /** Lowest concurrency limit. */
+    private int minLimit = 4;
+
+    /** Highest concurrency limit. */
+    private int maxLimit = 200;
+
+    /** Response time above which the limit is decreased. */
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /** Factor applied to the limit when it is decreased. */
+    private double backoffRatio = 0.9;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+      return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+      this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+      return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+      this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+
+    public Duration getLatencyThreshold() {
+      return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+      this.latencyThreshold = latencyThreshold;
+    }
+
+    public double getBackoffRatio() {
+      return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+      this.backoffRatio = backoffRatio;
+    }
+  }
+
+  public static class Events {
+    /** What to do when a subscriber falls {@code buffer-size} events behind. */
+    public enum Overflow {
+      /** Discard the oldest buffered event. The subscriber sees a gap in the event IDs. */
+      DROP_OLDEST,
+      /**
+       * Close the connection. The subscriber reconnects with {@code Last-Event-ID} and resumes from
+       * the history, if it is still there.
+       */
+      DISCONNECT
+    }
+
+    /**
+     * Number of recent events kept in memory to resume subscriptions with {@code Last-Event-ID}.
+     */
+    private int historySize = 1000;
+
+    /** Number of events that can be waiting to be sent to a single subscriber. */
+    private int bufferSize = 256;
+
+    /** What to do when the buffer of a subscriber is full. */
+    private Overflow overflow = Overflow.DISCONNECT;
+
+    /** Interval of the comments sent to idle subscribers, to detect closed connections. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** Number of threads sending events to the subscribers. */
+    private int senderThreads = 4;
+
+    public int getHistorySize() {
+      return historySize;
+    }
+
+    public void setHistorySize(int historySize) {
+      this.historySize = historySize;
+    }
+
+    public int getBufferSize() {
+      return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+    }
+
+    public Overflow getOverflow() {
+      return overflow;
+    }
+
+    public void setOverflow(Overflow overflow) {
+      this.overflow = overflow;
+    }
+
+    public Duration getHeartbeatInterval() {
+      return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+      this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getSenderThreads() {
+      return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+      this.senderThreads = senderThreads;
+    }
+  }
+
+  /** Settings of the NDJSON export endpoint. */
+  public static class Export {
+    /**
+     * Time allowed to stream the whole export. Other asynchronous requests keep the default timeout
+     * of {@code spring.mvc.async.request-timeout}.
+     */
+    private Duration timeout = Duration.ofHours(1);
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+  /** Settings of the authentication of API requests. */
+  public static class Security {
+    private final Token token = new Token();
+    private final CredentialsCache credentialsCache = new CredentialsCache();
+
+    public Token getToken() {
+      return token;
+    }
+
+    public CredentialsCache getCredentialsCache() {
+      return credentialsCache;
+    }
+  }
+
+  /** Settings of the signed access tokens issued by the token endpoint. */
+  public static class Token {
+    /**
+     * Secret used to sign the tokens with HMAC-SHA256, at least 32 bytes long. When empty, a random
+     * secret is generated at startup, so tokens do not survive restarts and are only accepted by
+     * the instance that issued them.
+     */
+    private String secret;
+
+    /** Time to live of the tokens. */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    public String getSecret() {
+      return secret;
+    }
+
+    public void setSecret(String secret) {
+      this.secret = secret;
+    }
+
+    public Duration getTtl() {
+      return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+  }
+
+  /** Settings of the cache of recently verified HTTP Basic credentials. */
+  public static class CredentialsCache {
+    /** Maximum number of cached users. Set to {@code 0} to verify every request. */
+    private long maximumSize = 1000;
+
+    /**
+     * Time after which cached credentials are verified again. Bounds how long a changed password
+     * keeps being accepted.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+      return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+    }
+  }
+}
@@ -2,9 +2,29 @@ package io.github.antoniomayk.dxc.clients.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import io.github.antoniomayk.dxc.clients.ratelimit.RateLimitFilter;
+import io.github.antoniomayk.dxc.clients.security.CachingAuthenticationProvider;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * Security settings for the application.
@@ -13,8 +33,15 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
  *
  * <ul>
  *   <li>Cross-Site Request Forgery (CSRF) protection is disabled.
- *   <li>All requests are required to be authenticated.
- *   <li>HTTP Basic authentication is enabled.
+ *   <li>All requests are required to be authenticated, and {@code /api/v1/admin/**} requires the
+ *       {@code ADMIN} role, which bearer tokens do not carry.
+ *   <li>No HTTP session is created, every request carries its own credentials.
+ *   <li>HTTP Basic authentication is enabled. Verified credentials are cached for a short time, so
+ *       the password is not hashed on every request.
+ *   <li>Bearer tokens issued by {@code POST /api/v1/auth/token} are accepted, and verified with
+ *       their HMAC-SHA256 signature only.
+ *   <li>Authenticated API requests go through the {@link RateLimitFilter}, which limits the rate of
+ *       every user and the number of requests processed at once.
  * </ul>
  *
  * @author Antonio Mayk
@@ -22,10 +49,81 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
  */
 @Configuration
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
+  private final SecurityProperties securityProperties;
+  private final ClientProperties clientProperties;
+  private final RateLimitFilter rateLimitFilter;
+
+  SecurityConfig(
+      SecurityProperties securityProperties,
+      ClientProperties clientProperties,
+      RateLimitFilter rateLimitFilter) {
+    this.securityProperties = securityProperties;
+    this.clientProperties = clientProperties;
+    this.rateLimitFilter = rateLimitFilter;
+  }
+
+  // The filter only runs in the security filter chain, not on its own in the servlet container.
+  @Bean
+  FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+    final var registration = new FilterRegistrationBean<>(rateLimitFilter);
+    registration.setEnabled(false);
+    return registration;
+  }
+
+  @Bean
+  SecretKey tokenSigningKey() {
+    final var secret = clientProperties.getSecurity().getToken().getSecret();
+    final byte[] key;
+    if (secret == null || secret.isBlank()) {
+      key = new byte[32];
+      new SecureRandom().nextBytes(key);
+    } else {
+      key = secret.getBytes(StandardCharsets.UTF_8);
+    }
+    return new SecretKeySpec(key, "HmacSHA256");
+  }
+
+  @Bean
+  JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+    return NimbusJwtDecoder.withSecretKey(tokenSigningKey).macAlgorithm(MacAlgorithm.HS256).build();
+  }
+
+  @Bean
+  @Override
+  public UserDetailsService userDetailsService() {
+    final var user = securityProperties.getUser();
+    return new InMemoryUserDetailsManager(
+        User.withUsername(user.getName())
+            .password(user.getPassword())
+            .roles(user.getRoles().toArray(new String[0]))
+            .build());
+  }
+
+  @Override
+  protected void configure(AuthenticationManagerBuilder auth) {
+    final var passwordProvider = new DaoAuthenticationProvider();
+    passwordProvider.setUserDetailsService(userDetailsService());
+    passwordProvider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+    auth.authenticationProvider(
+        new CachingAuthenticationProvider(
+            passwordProvider, clientProperties.getSecurity().getCredentialsCache()));
+  }
+
   @Override
   protected void configure(HttpSecurity http) throws Exception {
     http.csrf(csrf -> csrf.disable())
-        .authorizeRequests(authorizeRequests -> authorizeRequests.anyRequest().authenticated())
-        .httpBasic(withDefaults());
+        .sessionManagement(
+            sessionManagement ->
+                sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        .authorizeRequests(
+            authorizeRequests ->
+                authorizeRequests
+                    .antMatchers("/api/v1/admin/**")
+                    .hasRole("ADMIN")
+                    .anyRequest()
+                    .authenticated())
+        .httpBasic(withDefaults())
+        .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()))
+        .addFilterAfter(rateLimitFilter, BasicAuthenticationFilter.class);
   }
 }
@@ -0,0 +1,124 @@
+package io.github.antoniomayk.dxc.clients.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Adds the binary Jackson Smile ({@code application/x-jackson-smile}) and CBOR ({@code
+ * application/cbor}) formats to the JSON ones, chosen by the {@code Accept} and {@code
+ * Content-Type} headers of each request.
+ *
+ * <p>Their mappers are built by the {@link Jackson2ObjectMapperBuilder} configured by Spring Boot,
+ * so clients are serialized with the same modules and {@code spring.jackson.*} settings in every
+ * format. They replace the converters Spring MVC would otherwise register with default settings.
+ *
+ * <p>Every converter serializes the body into a buffer before writing it, so the response carries a
+ * {@code Content-Length} and the server only compresses bodies above {@code
+ * server.compression.min-response-size}; a streamed body has no known length and would always be
+ * compressed. Bodies are bounded by the page limits of the API, while exports and event streams
+ * bypass the converters and are still streamed.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Configuration
+public class SerializationConfig {
+
+  @Bean
+  public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+      ObjectMapper objectMapper) {
+    return new MappingJackson2HttpMessageConverter(objectMapper) {
+      @Override
+      protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+          throws IOException {
+        writeBuffered(outputMessage, buffer -> super.writeInternal(object, type, buffer));
+      }
+    };
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.createXmlMapper(false).factory(new SmileFactory()).build()) {
+      @Override
+      protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+          throws IOException {
+        writeBuffered(outputMessage, buffer -> super.writeInternal(object, type, buffer));
+      }
+    };
+  }
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.createXmlMapper(false).factory(new CBORFactory()).build()) {
+      @Override
+      protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+          throws IOException {
+        writeBuffered(outputMessage, buffer -> super.writeInternal(object, type, buffer));
+      }
+    };
+  }
+
+  /**
+   * Writes a body through a buffer, then copies it to the given message with its length.
+   *
+   * @param outputMessage the message to write the body to
+   * @param writer writes the body to the buffered message it is given
+   * @throws IOException if the body cannot be written
+   */
+  private static void writeBuffered(HttpOutputMessage outputMessage, BodyWriter writer)
+      throws IOException {
+    final var buffer = new BufferedOutputMessage(outputMessage);
+    writer.writeTo(buffer);
+    buffer.flushTo(outputMessage);
+  }
+
+  /**
+   * Writes a body to an output message, like {@code AbstractHttpMessageConverter.writeInternal}.
+   */
+  @FunctionalInterface
+  private interface BodyWriter {
+    void writeTo(HttpOutputMessage outputMessage) throws IOException;
+  }
+
+  /** Collects a body in memory, sharing the headers of the message it is written to later. */
+  private static final class BufferedOutputMessage implements HttpOutputMessage {
+    private final HttpOutputMessage outputMessage;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+
+    private BufferedOutputMessage(HttpOutputMessage outputMessage) {
+      this.outputMessage = outputMessage;
+    }
+
+    @Override
+    public OutputStream getBody() {
+      return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return outputMessage.getHeaders();
+    }
+
+    private void flushTo(HttpOutputMessage target) throws IOException {
+      target.getHeaders().setContentLength(body.size());
+      body.writeTo(target.getBody());
+    }
+  }
+}
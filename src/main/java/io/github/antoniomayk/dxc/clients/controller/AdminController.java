@@ -0,0 +1,133 @@
+package io.github.antoniomayk.dxc.clients.controller;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.GenerationReport;
+import io.github.antoniomayk.dxc.clients.search.ClientSearchIndex;
+import io.github.antoniomayk.dxc.clients.service.ClientDataGenerator;
+import io.github.antoniomayk.dxc.clients.service.ClientDeduplicator;
+import io.github.antoniomayk.dxc.clients.stats.ClientStatistics;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * REST controller for administrative operations, restricted to users with the {@code ADMIN} role.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@RestController
+@Validated
+@RequestMapping("/api/v1/admin")
+@Api(tags = "Administration")
+public class AdminController {
+  private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+  private final ClientDataGenerator clientDataGenerator;
+  private final ClientDeduplicator clientDeduplicator;
+  private final ClientSearchIndex searchIndex;
+  private final ClientStatistics clientStatistics;
+  private final long dedupTimeout;
+
+  public AdminController(
+      ClientDataGenerator clientDataGenerator,
+      ClientDeduplicator clientDeduplicator,
+      ClientSearchIndex searchIndex,
+      ClientStatistics clientStatistics,
+      ClientProperties clientProperties) {
+    this.clientDataGenerator = clientDataGenerator;
+    this.clientDeduplicator = clientDeduplicator;
+    this.searchIndex = searchIndex;
+    this.clientStatistics = clientStatistics;
+    this.dedupTimeout = clientProperties.getDedup().getTimeout().toMillis();
+  }
+
+  /**
+   * Inserts synthetic clients for load testing, then rebuilds the search index so they can be found
+   * and reconciles the statistics so they are counted.
+   *
+   * @param rows The number of clients to insert
+   * @param seed The seed of the generated data, random if not given
+   * @param threads The number of generating threads, one per processor if {@code 0}
+   * @return The number of clients inserted, the seed used and the insertion rate
+   */
+  @PostMapping("/clients/_generate")
+  @ApiOperation(
+      value = "Generate clients",
+      notes = "Inserts synthetic clients for load testing and reports the insertion rate")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "Clients successfully generated"),
+        @ApiResponse(code = 400, message = "Invalid number of rows or threads"),
+        @ApiResponse(code = 403, message = "Not an administrator"),
+        @ApiResponse(code = 409, message = "A generation is already running")
+      })
+  public GenerationReport generateClients(
+      @ApiParam(value = "Number of clients to insert", required = true)
+          @RequestParam
+          @Min(1)
+          @Max(100_000_000)
+          long rows,
+      @ApiParam(value = "Seed of the generated data") @RequestParam(required = false) Long seed,
+      @ApiParam(value = "Number of generating threads", defaultValue = "0")
+          @RequestParam(defaultValue = "0")
+          @Min(0)
+          @Max(64)
+          int threads) {
+    logger.info("Generating {} clients", rows);
+    final var report = clientDataGenerator.generate(rows, seed, threads);
+    searchIndex.rebuild();
+    clientStatistics.reconcile();
+    return report;
+  }
+
+  /**
+   * Finds the active clients that are likely to be the same person, and streams the groups they
+   * form as newline-delimited JSON (NDJSON).
+   *
+   * <p>The groups are written on the MVC task executor, with a timeout of {@code
+   * clients.dedup.timeout} instead of the default one of asynchronous requests.
+   *
+   * @param response The HTTP response the groups are streamed to
+   * @return The task streaming one group of duplicates per line
+   */
+  @GetMapping(value = "/clients/duplicates", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @ApiOperation(
+      value = "Find duplicate clients",
+      notes =
+          "Compares the clients sharing an email, a phone number or a similar name, and streams"
+              + " the groups of likely duplicates as newline-delimited JSON, ordered by their"
+              + " first client ID")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "Successfully streamed the duplicate clients"),
+        @ApiResponse(code = 403, message = "Not an administrator")
+      })
+  public WebAsyncTask<Void> findDuplicateClients(HttpServletResponse response) {
+    logger.info("Finding duplicate clients");
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    return new WebAsyncTask<>(
+        dedupTimeout,
+        () -> {
+          final var outputStream = response.getOutputStream();
+          clientDeduplicator.writeDuplicateGroups(outputStream);
+          outputStream.flush();
+          return null;
+        });
+  }
+}
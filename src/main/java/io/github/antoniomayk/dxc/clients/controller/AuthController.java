@@ -0,0 +1,61 @@
+package io.github.antoniomayk.dxc.clients.controller;
+
+import io.github.antoniomayk.dxc.clients.dto.TokenResponse;
+import io.github.antoniomayk.dxc.clients.security.TokenService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller that exchanges HTTP Basic credentials for short-lived access tokens.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@Api(tags = "Authentication")
+public class AuthController {
+  private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
+  private final TokenService tokenService;
+
+  public AuthController(TokenService tokenService) {
+    this.tokenService = tokenService;
+  }
+
+  /**
+   * Issues an access token for the user authenticated with HTTP Basic. Tokens cannot be used to
+   * obtain new tokens, so a leaked token cannot be renewed.
+   *
+   * @param authentication The authenticated user
+   * @return The access token
+   */
+  @PostMapping("/token")
+  @ApiOperation(
+      value = "Create an access token",
+      notes = "Exchanges HTTP Basic credentials for a short-lived bearer token")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "Token successfully created"),
+        @ApiResponse(code = 401, message = "Invalid credentials"),
+        @ApiResponse(code = 403, message = "Authenticated with a token instead of credentials")
+      })
+  public TokenResponse createToken(Authentication authentication) {
+    if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
+      logger.warn("Refused to renew access token for user: {}", authentication.getName());
+      throw new AccessDeniedException("Access tokens can only be created with credentials");
+    }
+    logger.info("Creating access token for user: {}", authentication.getName());
+    return tokenService.issueToken(authentication);
+  }
+}
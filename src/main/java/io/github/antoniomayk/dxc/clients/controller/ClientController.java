@@ -1,81 +1,308 @@
 package io.github.antoniomayk.dxc.clients.controller;
 
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.BulkResponse;
 import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.dto.ClientPage;
+import io.github.antoniomayk.dxc.clients.dto.ClientStats;
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
 import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.event.ClientEventBroadcaster;
+import io.github.antoniomayk.dxc.clients.idempotency.IdempotencyStore;
 import io.github.antoniomayk.dxc.clients.service.ClientService;
+import io.github.antoniomayk.dxc.clients.service.ClientServiceExecutor;
+import io.github.antoniomayk.dxc.clients.stats.ClientStatistics;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for managing clients. It provides endpoints for CRUD operations on clients.
  *
+ * <p>Service calls go through {@link ClientServiceExecutor}, which runs them on a dedicated bounded
+ * executor when {@code clients.async.enabled} is set.
+ *
  * @author Antonio Mayk
  * @since 0.1
  */
 @RestController
+@Validated
 @RequestMapping("/api/v1/clients")
 @Api(tags = "Client Management")
 public class ClientController {
   private static final Logger logger = LoggerFactory.getLogger(ClientController.class);
 
+  static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
   private final ClientService clientService;
+  private final ClientServiceExecutor executor;
+  private final ClientEventBroadcaster eventBroadcaster;
+  private final ClientStatistics clientStatistics;
+  private final IdempotencyStore idempotencyStore;
+  private final long exportTimeout;
 
-  public ClientController(ClientService clientService) {
+  public ClientController(
+      ClientService clientService,
+      ClientServiceExecutor executor,
+      ClientEventBroadcaster eventBroadcaster,
+      ClientStatistics clientStatistics,
+      IdempotencyStore idempotencyStore,
+      ClientProperties clientProperties) {
     this.clientService = clientService;
+    this.executor = executor;
+    this.eventBroadcaster = eventBroadcaster;
+    this.clientStatistics = clientStatistics;
+    this.idempotencyStore = idempotencyStore;
+    this.exportTimeout = clientProperties.getExport().getTimeout().toMillis();
   }
 
   /**
-   * Retrieves all clients.
+   * Retrieves a page of clients.
    *
-   * @return A collection of all clients
+   * @param limit The maximum number of clients to return
+   * @param after The cursor returned by the previous page, if any
+   * @return A page of clients and the cursor for the next page
    */
   @GetMapping
-  @ApiOperation(value = "Get all clients", notes = "Retrieves a list of all clients in the system")
+  @ApiOperation(
+      value = "Get clients",
+      notes = "Retrieves a page of clients ordered by ID, using cursor (keyset) pagination")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved page of clients"),
+        @ApiResponse(code = 400, message = "Invalid limit or cursor"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
+      })
+  public CompletableFuture<ClientPage> getAllClients(
+      @ApiParam(value = "Maximum number of clients to return", defaultValue = "50")
+          @RequestParam(defaultValue = "50")
+          @Min(1)
+          @Max(1000)
+          int limit,
+      @ApiParam(value = "Cursor returned as nextCursor by the previous page")
+          @RequestParam(required = false)
+          String after) {
+    logger.info("Fetching up to {} clients after cursor: {}", limit, after);
+    return executor.supply(() -> clientService.getClients(limit, after));
+  }
+
+  /**
+   * Searches clients whose full name or email contains the given text.
+   *
+   * @param query The text to look for, ignoring case
+   * @param limit The maximum number of clients to return
+   * @return The matching clients
+   */
+  @GetMapping("/search")
+  @ApiOperation(
+      value = "Search clients",
+      notes = "Retrieves the clients whose full name or email contains the given text")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved matching clients"),
+        @ApiResponse(code = 400, message = "Invalid query or limit"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
+      })
+  public CompletableFuture<List<ClientView>> searchClients(
+      @ApiParam(value = "Text to look for in the full name or email", required = true)
+          @RequestParam("q")
+          @NotBlank
+          @Size(max = 100)
+          String query,
+      @ApiParam(value = "Maximum number of clients to return", defaultValue = "20")
+          @RequestParam(defaultValue = "20")
+          @Min(1)
+          @Max(100)
+          int limit) {
+    logger.info("Searching up to {} clients matching: {}", limit, query);
+    return executor.supply(() -> clientService.searchClients(query, limit));
+  }
+
+  /**
+   * Retrieves a client by its ID.
+   *
+   * @param clientId The ID of the client to retrieve
+   * @return The client with the given ID
+   */
+  @GetMapping("/{clientId}")
+  @ApiOperation(value = "Get a client", notes = "Retrieves the client with the specified ID")
   @ApiResponses(
-      value = {@ApiResponse(code = 200, message = "Successfully retrieved list of clients")})
-  public Collection<Client> getAllClients() {
-    logger.info("Fetching all clients");
-    return clientService.getAllClients();
+      value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved client"),
+        @ApiResponse(code = 404, message = "Client not found"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
+      })
+  public CompletableFuture<Client> getClient(
+      @ApiParam(value = "ID of the client to be retrieved", required = true) @PathVariable
+          Long clientId) {
+    logger.info("Fetching client with ID: {}", clientId);
+    return executor.supply(() -> clientService.getClient(clientId));
   }
 
   /**
-   * Creates a new client.
+   * Retrieves aggregate statistics of the clients. They are kept in memory, so the cost of a
+   * request does not depend on the number of clients.
    *
+   * @return The number of active and deleted clients, the most common email domains and the
+   *     creations per day
+   */
+  @GetMapping("/stats")
+  @ApiOperation(
+      value = "Get client statistics",
+      notes =
+          "Retrieves the number of active and deleted clients, the most common email domains and"
+              + " the number of clients created per day")
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "Successfully retrieved statistics")})
+  public ClientStats getStats() {
+    logger.debug("Fetching client statistics");
+    return clientStatistics.getStats();
+  }
+
+  /**
+   * Exports all clients as newline-delimited JSON (NDJSON). The clients are streamed to the
+   * response as they are read from the database, for up to {@code clients.export.timeout}.
+   *
+   * @param response The response the clients are written to, one per line
+   * @return The task streaming the clients
+   */
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @ApiOperation(
+      value = "Export all clients",
+      notes = "Streams all clients in the system as newline-delimited JSON, ordered by ID")
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "Successfully streamed all clients")})
+  public WebAsyncTask<Void> exportClients(HttpServletResponse response) {
+    logger.info("Exporting all clients");
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    return new WebAsyncTask<>(
+        exportTimeout,
+        () -> {
+          final var outputStream = response.getOutputStream();
+          clientService.exportClients(outputStream);
+          outputStream.flush();
+          return null;
+        });
+  }
+
+  /**
+   * Streams the changes made to clients as Server-Sent Events, as they are committed.
+   *
+   * @param lastEventId The ID of the last event received before reconnecting, if any
+   * @return The emitter of the {@code created}, {@code updated}, {@code deleted} and {@code reset}
+   *     events
+   */
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @ApiOperation(
+      value = "Subscribe to client changes",
+      notes =
+          "Streams created, updated and deleted events as Server-Sent Events. Reconnecting with"
+              + " Last-Event-ID resumes after the last received event, or sends a reset event"
+              + " when it is too old or was issued before a restart")
+  @ApiResponses(value = {@ApiResponse(code = 200, message = "Subscribed to client changes")})
+  public SseEmitter streamEvents(
+      @ApiParam(value = "ID of the last event received")
+          @RequestHeader(value = "Last-Event-ID", required = false)
+          String lastEventId) {
+    logger.info("Subscribing to client events after ID: {}", lastEventId);
+    return eventBroadcaster.subscribe(lastEventId);
+  }
+
+  /**
+   * Creates a new client. Requests retried with the same {@code Idempotency-Key} are answered with
+   * the client created by the first one, flagged with {@code Idempotent-Replayed: true}.
+   *
+   * @param idempotencyKey The key identifying retries of the same request, if any
    * @param clientDto The client data transfer object containing the client information
    * @return The created client
    */
   @PostMapping
   @ApiOperation(
       value = "Create a new client",
-      notes = "Creates a new client with the provided data")
+      notes =
+          "Creates a new client with the provided data. Retrying with the same Idempotency-Key"
+              + " returns the client created by the first request")
   @ApiResponses(
       value = {
         @ApiResponse(code = 201, message = "Client successfully created"),
-        @ApiResponse(code = 400, message = "Invalid input")
+        @ApiResponse(code = 400, message = "Invalid input"),
+        @ApiResponse(code = 422, message = "Idempotency-Key already used with another request"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
       })
-  public ResponseEntity<Client> postClient(
+  public CompletableFuture<ResponseEntity<Client>> postClient(
+      @ApiParam(value = "Key identifying retries of the same request")
+          @RequestHeader(value = IDEMPOTENCY_KEY, required = false)
+          @Size(min = 1, max = 255)
+          String idempotencyKey,
       @ApiParam(value = "Client object to be created", required = true) @Valid @RequestBody
           ClientDto clientDto) {
     logger.info("Creating a new client with data: {}", clientDto);
-    final var createdClient = clientService.createClient(clientDto);
-    return ResponseEntity.status(HttpStatus.CREATED).body(createdClient);
+    if (idempotencyKey == null) {
+      return executor.supply(
+          () ->
+              ResponseEntity.status(HttpStatus.CREATED)
+                  .body(clientService.createClient(clientDto)));
+    }
+    return idempotencyStore
+        .createClient(idempotencyKey, clientDto)
+        .thenApply(
+            outcome ->
+                ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.isReplayed()))
+                    .body(outcome.getClient()));
+  }
+
+  /**
+   * Creates new clients in bulk. Each item is validated independently, and the outcome of every
+   * item is reported in the response.
+   *
+   * @param clientDtos The client data transfer objects containing the clients information
+   * @return The outcome of every item, in request order
+   */
+  @PostMapping("/_bulk")
+  @ApiOperation(
+      value = "Create clients in bulk",
+      notes = "Creates the valid clients of the provided list and reports the outcome of each item")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "Bulk request processed"),
+        @ApiResponse(code = 400, message = "Empty or oversized list"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
+      })
+  public CompletableFuture<BulkResponse> postClients(
+      @ApiParam(value = "Client objects to be created", required = true)
+          @RequestBody
+          @Size(min = 1, max = 10000)
+          List<ClientDto> clientDtos) {
+    logger.info("Creating {} clients in bulk", clientDtos.size());
+    return executor.supply(() -> new BulkResponse(clientService.createClients(clientDtos)));
   }
 
   /**
@@ -93,15 +320,16 @@ public class ClientController {
       value = {
         @ApiResponse(code = 200, message = "Client successfully updated"),
         @ApiResponse(code = 400, message = "Invalid input"),
-        @ApiResponse(code = 404, message = "Client not found")
+        @ApiResponse(code = 404, message = "Client not found"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
       })
-  public Client putClient(
+  public CompletableFuture<Client> putClient(
       @ApiParam(value = "ID of the client to be updated", required = true) @PathVariable
           Long clientId,
       @ApiParam(value = "Updated client object", required = true) @RequestBody
           ClientDto clientDto) {
     logger.info("Updating client with ID: {} with data: {}", clientId, clientDto);
-    return clientService.updateClient(clientId, clientDto);
+    return executor.supply(() -> clientService.updateClient(clientId, clientDto));
   }
 
   /**
@@ -114,12 +342,13 @@ public class ClientController {
   @ApiResponses(
       value = {
         @ApiResponse(code = 204, message = "Client successfully deleted"),
-        @ApiResponse(code = 404, message = "Client not found")
+        @ApiResponse(code = 404, message = "Client not found"),
+        @ApiResponse(code = 503, message = "Too many requests in progress")
       })
-  public void deleteClient(
+  public CompletableFuture<Void> deleteClient(
       @ApiParam(value = "ID of the client to be deleted", required = true) @PathVariable
           Long clientId) {
     logger.info("Deleting client with ID: {}", clientId);
-    clientService.deleteClient(clientId);
+    return executor.run(() -> clientService.deleteClient(clientId));
   }
 }
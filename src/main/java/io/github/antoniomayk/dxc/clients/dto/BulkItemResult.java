@@ -0,0 +1,90 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Map;
+
+/**
+ * Outcome of a single item of a bulk create request.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Outcome of a single item of a bulk request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+  /** Possible outcomes of a bulk item. */
+  public enum Status {
+    CREATED,
+    INVALID
+  }
+
+  @ApiModelProperty(example = "0", notes = "Position of the item in the request")
+  private int index;
+
+  @ApiModelProperty(example = "CREATED", notes = "Outcome of the item")
+  private Status status;
+
+  @ApiModelProperty(notes = "The created client, if the item was created")
+  private Client client;
+
+  @ApiModelProperty(notes = "Field-specific validation errors, if the item was invalid")
+  private Map<String, String> errors;
+
+  /**
+   * Constructs a new BulkItemResult with the specified details.
+   *
+   * @param index the position of the item in the request
+   * @param status the outcome of the item
+   * @param client the created client, or {@code null} if the item was not created
+   * @param errors a map of field-specific errors, or {@code null} if the item was valid
+   */
+  public BulkItemResult(int index, Status status, Client client, Map<String, String> errors) {
+    this.index = index;
+    this.status = status;
+    this.client = client;
+    this.errors = errors;
+  }
+
+  public static BulkItemResult created(int index, Client client) {
+    return new BulkItemResult(index, Status.CREATED, client, null);
+  }
+
+  public static BulkItemResult invalid(int index, Map<String, String> errors) {
+    return new BulkItemResult(index, Status.INVALID, null, errors);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public Client getClient() {
+    return client;
+  }
+
+  public void setClient(Client client) {
+    this.client = client;
+  }
+
+  public Map<String, String> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(Map<String, String> errors) {
+    this.errors = errors;
+  }
+}
@@ -0,0 +1,59 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+/**
+ * Represents the response of a bulk create request, with the outcome of every item.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Outcome of a bulk request")
+public class BulkResponse {
+  @ApiModelProperty(example = "2", notes = "Number of items that were created")
+  private long created;
+
+  @ApiModelProperty(example = "1", notes = "Number of items that failed validation")
+  private long failed;
+
+  @ApiModelProperty(notes = "Outcome of every item, in request order")
+  private List<BulkItemResult> items;
+
+  /**
+   * Constructs a new BulkResponse from the outcome of every item.
+   *
+   * @param items the outcome of every item, in request order
+   */
+  public BulkResponse(List<BulkItemResult> items) {
+    this.items = items;
+    this.created =
+        items.stream().filter(item -> item.getStatus() == BulkItemResult.Status.CREATED).count();
+    this.failed = items.size() - created;
+  }
+
+  public long getCreated() {
+    return created;
+  }
+
+  public void setCreated(long created) {
+    this.created = created;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public void setFailed(long failed) {
+    this.failed = failed;
+  }
+
+  public List<BulkItemResult> getItems() {
+    return items;
+  }
+
+  public void setItems(List<BulkItemResult> items) {
+    this.items = items;
+  }
+}
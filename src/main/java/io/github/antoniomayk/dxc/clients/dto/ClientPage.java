@@ -0,0 +1,52 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+/**
+ * A single page of clients retrieved through keyset pagination.
+ *
+ * <p>The {@code nextCursor} is an opaque token that must be sent back as the {@code after}
+ * parameter to fetch the following page. It is {@code null} when there are no more clients.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "A page of clients")
+public class ClientPage {
+  @ApiModelProperty(notes = "Clients in this page, ordered by ID")
+  private List<ClientView> content;
+
+  @ApiModelProperty(
+      example = "MTA1",
+      notes = "Opaque cursor for the next page, or null if this is the last page")
+  private String nextCursor;
+
+  /**
+   * Constructs a new ClientPage.
+   *
+   * @param content the clients in this page
+   * @param nextCursor the cursor for the next page, or {@code null} if this is the last page
+   */
+  public ClientPage(List<ClientView> content, String nextCursor) {
+    this.content = content;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<ClientView> getContent() {
+    return content;
+  }
+
+  public void setContent(List<ClientView> content) {
+    this.content = content;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
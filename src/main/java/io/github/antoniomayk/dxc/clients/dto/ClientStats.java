@@ -0,0 +1,110 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Aggregate statistics of the clients.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Aggregate statistics of the clients")
+public class ClientStats {
+  /** Number of clients registered with an email domain. */
+  @ApiModel(description = "Number of clients registered with an email domain")
+  public static class DomainCount {
+    @ApiModelProperty(example = "example.com", notes = "Email domain, in lower case")
+    private final String domain;
+
+    @ApiModelProperty(example = "1250", notes = "Number of clients registered with the domain")
+    private final long clients;
+
+    /**
+     * Constructs a new DomainCount.
+     *
+     * @param domain the email domain, in lower case
+     * @param clients the number of clients registered with the domain
+     */
+    public DomainCount(String domain, long clients) {
+      this.domain = domain;
+      this.clients = clients;
+    }
+
+    public String getDomain() {
+      return domain;
+    }
+
+    public long getClients() {
+      return clients;
+    }
+  }
+
+  @ApiModelProperty(example = "98000", notes = "Number of active clients")
+  private final long activeClients;
+
+  @ApiModelProperty(example = "2000", notes = "Number of deleted clients, archived or not")
+  private final long deletedClients;
+
+  @ApiModelProperty(
+      notes =
+          "Most common email domains of all registered clients, deleted ones included, from the"
+              + " most common")
+  private final List<DomainCount> topEmailDomains;
+
+  @ApiModelProperty(
+      example = "{\"2023-06-15\": 120}",
+      notes = "Number of clients created on each of the last days, deleted ones included")
+  private final SortedMap<LocalDate, Long> creationsPerDay;
+
+  @ApiModelProperty(
+      example = "2023-06-15T10:30:00Z",
+      notes = "Time of the last reconciliation of the statistics with the database")
+  private final Instant reconciledAt;
+
+  /**
+   * Constructs a new ClientStats.
+   *
+   * @param activeClients the number of active clients
+   * @param deletedClients the number of deleted clients, archived or not
+   * @param topEmailDomains the most common email domains, from the most common
+   * @param creationsPerDay the number of clients created on each of the last days
+   * @param reconciledAt the time of the last reconciliation with the database
+   */
+  public ClientStats(
+      long activeClients,
+      long deletedClients,
+      List<DomainCount> topEmailDomains,
+      SortedMap<LocalDate, Long> creationsPerDay,
+      Instant reconciledAt) {
+    this.activeClients = activeClients;
+    this.deletedClients = deletedClients;
+    this.topEmailDomains = topEmailDomains;
+    this.creationsPerDay = creationsPerDay;
+    this.reconciledAt = reconciledAt;
+  }
+
+  public long getActiveClients() {
+    return activeClients;
+  }
+
+  public long getDeletedClients() {
+    return deletedClients;
+  }
+
+  public List<DomainCount> getTopEmailDomains() {
+    return topEmailDomains;
+  }
+
+  public SortedMap<LocalDate, Long> getCreationsPerDay() {
+    return creationsPerDay;
+  }
+
+  public Instant getReconciledAt() {
+    return reconciledAt;
+  }
+}
@@ -0,0 +1,123 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an active client, as returned by list and search reads.
+ *
+ * <p>Views are built by the query itself from the selected columns, so they are never attached to
+ * the persistence context: Hibernate keeps no entity copy for dirty checking, and nothing is left
+ * to flush when the transaction ends. Use {@link io.github.antoniomayk.dxc.clients.entity.Client}
+ * to modify a client.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Active client")
+public class ClientView {
+  @ApiModelProperty(example = "1", notes = "Unique identifier of the client")
+  private final Long id;
+
+  @ApiModelProperty(example = "John Doe", notes = "Full name of the client")
+  private final String fullName;
+
+  @ApiModelProperty(example = "john.doe@example.com", notes = "Email address of the client")
+  private final String email;
+
+  @ApiModelProperty(example = "+1-555-123-4567", notes = "Phone number of the client")
+  private final String phoneNumber;
+
+  @ApiModelProperty(
+      example = "+15551234567",
+      notes = "Phone number of the client in E.164 format, if it is a valid number")
+  private final String normalizedPhoneNumber;
+
+  @ApiModelProperty(example = "admin", notes = "User who created the client record")
+  private final String createdBy;
+
+  @ApiModelProperty(
+      example = "2023-06-15T09:00:00",
+      notes = "Timestamp when the client record was created")
+  private final LocalDateTime createdAt;
+
+  @ApiModelProperty(example = "admin", notes = "User who last modified the client record")
+  private final String modifiedBy;
+
+  @ApiModelProperty(
+      example = "2023-06-15T09:30:00",
+      notes = "Timestamp when the client record was last modified")
+  private final LocalDateTime modifiedAt;
+
+  /**
+   * Constructs a new ClientView. Called by the queries of {@code ClientRepository}, in the order of
+   * the columns they select.
+   *
+   * @param id the ID of the client
+   * @param fullName the full name of the client
+   * @param email the email address of the client
+   * @param phoneNumber the phone number of the client
+   * @param normalizedPhoneNumber the phone number in E.164 format, or {@code null}
+   * @param createdBy the user who created the client
+   * @param createdAt when the client was created
+   * @param modifiedBy the user who last modified the client
+   * @param modifiedAt when the client was last modified
+   */
+  public ClientView(
+      Long id,
+      String fullName,
+      String email,
+      String phoneNumber,
+      String normalizedPhoneNumber,
+      String createdBy,
+      LocalDateTime createdAt,
+      String modifiedBy,
+      LocalDateTime modifiedAt) {
+    this.id = id;
+    this.fullName = fullName;
+    this.email = email;
+    this.phoneNumber = phoneNumber;
+    this.normalizedPhoneNumber = normalizedPhoneNumber;
+    this.createdBy = createdBy;
+    this.createdAt = createdAt;
+    this.modifiedBy = modifiedBy;
+    this.modifiedAt = modifiedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getFullName() {
+    return fullName;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public String getPhoneNumber() {
+    return phoneNumber;
+  }
+
+  public String getNormalizedPhoneNumber() {
+    return normalizedPhoneNumber;
+  }
+
+  public String getCreatedBy() {
+    return createdBy;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public String getModifiedBy() {
+    return modifiedBy;
+  }
+
+  public LocalDateTime getModifiedAt() {
+    return modifiedAt;
+  }
+}
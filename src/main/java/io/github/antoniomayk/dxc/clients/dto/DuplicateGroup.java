@@ -0,0 +1,72 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Group of active clients that are likely to be the same person.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Group of clients that are likely to be the same person")
+public class DuplicateGroup {
+  /** Attribute shared by two clients of a group. */
+  public enum Signal {
+    /** Same email, ignoring case and surrounding spaces. */
+    EMAIL,
+    /** Same phone number, ignoring formatting. */
+    PHONE,
+    /** Names that sound alike. */
+    NAME
+  }
+
+  @ApiModelProperty(example = "[1, 51]", notes = "IDs of the clients of the group, in order")
+  private final List<Long> clientIds;
+
+  @ApiModelProperty(example = "0.9", notes = "Highest score of two clients of the group")
+  private final double score;
+
+  @ApiModelProperty(
+      example = "[\"EMAIL\", \"PHONE\"]",
+      notes = "Attributes shared by the matching clients of the group")
+  private final Set<Signal> signals;
+
+  /**
+   * Constructs a new DuplicateGroup.
+   *
+   * @param clientIds the IDs of the clients of the group, in order
+   * @param score the highest score of two clients of the group
+   * @param signals the attributes shared by the matching clients of the group
+   */
+  public DuplicateGroup(List<Long> clientIds, double score, Set<Signal> signals) {
+    this.clientIds = clientIds;
+    this.score = score;
+    this.signals = signals;
+  }
+
+  public List<Long> getClientIds() {
+    return clientIds;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public Set<Signal> getSignals() {
+    return signals;
+  }
+
+  @Override
+  public String toString() {
+    return "DuplicateGroup [clientIds="
+        + clientIds
+        + ", score="
+        + score
+        + ", signals="
+        + signals
+        + "]";
+  }
+}
@@ -0,0 +1,79 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Outcome of a synthetic client data generation.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Outcome of a client data generation")
+public class GenerationReport {
+  @ApiModelProperty(example = "1000000", notes = "Number of clients inserted")
+  private final long rows;
+
+  @ApiModelProperty(example = "42", notes = "Seed of the generated data")
+  private final long seed;
+
+  @ApiModelProperty(example = "4", notes = "Number of threads that generated the clients")
+  private final int threads;
+
+  @ApiModelProperty(example = "31250", notes = "Time taken, in milliseconds")
+  private final long elapsedMillis;
+
+  @ApiModelProperty(example = "32000", notes = "Number of clients inserted per second")
+  private final long rowsPerSecond;
+
+  /**
+   * Constructs a new GenerationReport.
+   *
+   * @param rows the number of clients inserted
+   * @param seed the seed of the generated data
+   * @param threads the number of threads that generated the clients
+   * @param elapsedMillis the time taken, in milliseconds
+   */
+  public GenerationReport(long rows, long seed, int threads, long elapsedMillis) {
+    this.rows = rows;
+    this.seed = seed;
+    this.threads = threads;
+    this.elapsedMillis = elapsedMillis;
+    this.rowsPerSecond = rows * 1000 / Math.max(elapsedMillis, 1);
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public long getRowsPerSecond() {
+    return rowsPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "GenerationReport [rows="
+        + rows
+        + ", seed="
+        + seed
+        + ", threads="
+        + threads
+        + ", elapsedMillis="
+        + elapsedMillis
+        + ", rowsPerSecond="
+        + rowsPerSecond
+        + "]";
+  }
+}
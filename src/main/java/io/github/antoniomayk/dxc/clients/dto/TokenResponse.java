@@ -0,0 +1,45 @@
+package io.github.antoniomayk.dxc.clients.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Access token issued by the token endpoint, to be sent as {@code Authorization: Bearer <token>}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@ApiModel(description = "Access token")
+public class TokenResponse {
+  @ApiModelProperty(notes = "Signed access token")
+  private final String accessToken;
+
+  @ApiModelProperty(example = "Bearer", notes = "Type of the token")
+  private final String tokenType = "Bearer";
+
+  @ApiModelProperty(example = "900", notes = "Number of seconds the token is valid for")
+  private final long expiresIn;
+
+  /**
+   * Constructs a new TokenResponse.
+   *
+   * @param accessToken the signed access token
+   * @param expiresIn the number of seconds the token is valid for
+   */
+  public TokenResponse(String accessToken, long expiresIn) {
+    this.accessToken = accessToken;
+    this.expiresIn = expiresIn;
+  }
+
+  public String getAccessToken() {
+    return accessToken;
+  }
+
+  public String getTokenType() {
+    return tokenType;
+  }
+
+  public long getExpiresIn() {
+    return expiresIn;
+  }
+}
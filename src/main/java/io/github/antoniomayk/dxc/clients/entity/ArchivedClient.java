@@ -0,0 +1,140 @@
+package io.github.antoniomayk.dxc.clients.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Client deleted longer ago than {@code clients.archive.retention}, moved out of the {@code
+ * clients} table by {@link io.github.antoniomayk.dxc.clients.service.ClientArchiver}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Entity
+@Table(name = "clients_archive")
+public class ArchivedClient {
+  @Id
+  @Column(name = "id")
+  private Long id;
+
+  @Column(name = "full_name", nullable = false, columnDefinition = "varchar(255)")
+  private String fullName;
+
+  @Column(name = "email", nullable = false, columnDefinition = "varchar(255)")
+  private String email;
+
+  @Column(name = "phone_number", nullable = false, columnDefinition = "varchar(20)")
+  private String phoneNumber;
+
+  @Column(name = "normalized_phone_number", nullable = true, columnDefinition = "varchar(16)")
+  private String normalizedPhoneNumber;
+
+  @Column(name = "deleted_at", nullable = false, columnDefinition = "timestamp")
+  private LocalDateTime deletedAt;
+
+  @Column(name = "created_by", nullable = false, columnDefinition = "varchar(255)")
+  private String createdBy;
+
+  @Column(name = "created_at", nullable = false, columnDefinition = "timestamp")
+  private LocalDateTime createdAt;
+
+  @Column(name = "modified_by", nullable = false, columnDefinition = "varchar(255)")
+  private String modifiedBy;
+
+  @Column(name = "modified_at", nullable = false, columnDefinition = "timestamp")
+  private LocalDateTime modifiedAt;
+
+  @Column(name = "archived_at", nullable = false, columnDefinition = "timestamp")
+  private LocalDateTime archivedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getFullName() {
+    return fullName;
+  }
+
+  public void setFullName(String fullName) {
+    this.fullName = fullName;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public void setEmail(String email) {
+    this.email = email;
+  }
+
+  public String getPhoneNumber() {
+    return phoneNumber;
+  }
+
+  public void setPhoneNumber(String phoneNumber) {
+    this.phoneNumber = phoneNumber;
+  }
+
+  public String getNormalizedPhoneNumber() {
+    return normalizedPhoneNumber;
+  }
+
+  public void setNormalizedPhoneNumber(String normalizedPhoneNumber) {
+    this.normalizedPhoneNumber = normalizedPhoneNumber;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+
+  public void setDeletedAt(LocalDateTime deletedAt) {
+    this.deletedAt = deletedAt;
+  }
+
+  public String getCreatedBy() {
+    return createdBy;
+  }
+
+  public void setCreatedBy(String createdBy) {
+    this.createdBy = createdBy;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public String getModifiedBy() {
+    return modifiedBy;
+  }
+
+  public void setModifiedBy(String modifiedBy) {
+    this.modifiedBy = modifiedBy;
+  }
+
+  public LocalDateTime getModifiedAt() {
+    return modifiedAt;
+  }
+
+  public void setModifiedAt(LocalDateTime modifiedAt) {
+    this.modifiedAt = modifiedAt;
+  }
+
+  public LocalDateTime getArchivedAt() {
+    return archivedAt;
+  }
+
+  public void setArchivedAt(LocalDateTime archivedAt) {
+    this.archivedAt = archivedAt;
+  }
+}
@@ -13,6 +13,9 @@ import javax.persistence.Table;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -22,6 +25,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 /**
  * Client entity.
  *
+ * <p>The {@code clients} table and its indexes are created by the Flyway migrations in {@code
+ * db/migration}.
+ *
  * @author Antonio Mayk
  * @since 0.1
  */
@@ -31,8 +37,19 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @ApiModel(description = "Client entity")
 public class Client {
   @Id
-  @GeneratedValue(strategy = GenerationType.SEQUENCE)
-  @Column(name = "id", unique = true, columnDefinition = "bigint auto_increment")
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+  @GenericGenerator(
+      name = "clients_seq",
+      strategy = "io.github.antoniomayk.dxc.clients.entity.ClientIdGenerator",
+      parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "clients_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+      })
+  @Column(
+      name = "id",
+      unique = true,
+      columnDefinition = "bigint default next value for clients_seq")
   @ApiModelProperty(example = "1", notes = "Unique identifier of the client")
   private Long id;
 
@@ -59,6 +76,12 @@ public class Client {
       notes = "Phone number of the client")
   private String phoneNumber;
 
+  @Column(name = "normalized_phone_number", nullable = true, columnDefinition = "varchar(16)")
+  @ApiModelProperty(
+      example = "+15551234567",
+      notes = "Phone number of the client in E.164 format, if it is a valid number")
+  private String normalizedPhoneNumber;
+
   @Column(name = "deleted_at", nullable = true, columnDefinition = "timestamp default null")
   @ApiModelProperty(
       example = "2023-06-15T10:30:00",
@@ -133,6 +156,14 @@ public class Client {
     this.phoneNumber = phoneNumber;
   }
 
+  public String getNormalizedPhoneNumber() {
+    return normalizedPhoneNumber;
+  }
+
+  public void setNormalizedPhoneNumber(String normalizedPhoneNumber) {
+    this.normalizedPhoneNumber = normalizedPhoneNumber;
+  }
+
   public LocalDateTime getDeletedAt() {
     return deletedAt;
   }
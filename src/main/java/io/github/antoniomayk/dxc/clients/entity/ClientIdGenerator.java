@@ -0,0 +1,38 @@
+package io.github.antoniomayk.dxc.clients.entity;
+
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence-based identifier generator for {@link Client} entities whose allocation size can be
+ * configured through the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting.
+ *
+ * <p>Each call to the database sequence reserves a block of {@code allocation-size} identifiers,
+ * which are then assigned in memory by the pooled optimizer, so inserts do not need a sequence
+ * round trip per row and can be batched by JDBC. The database sequence must be incremented by the
+ * same allocation size.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class ClientIdGenerator extends SequenceStyleGenerator {
+  public static final String ALLOCATION_SIZE_SETTING = "clients.id.allocation-size";
+
+  @Override
+  public void configure(Type type, Properties params, ServiceRegistry serviceRegistry)
+      throws MappingException {
+    final var allocationSize =
+        serviceRegistry
+            .getService(ConfigurationService.class)
+            .getSettings()
+            .get(ALLOCATION_SIZE_SETTING);
+    if (allocationSize != null) {
+      params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+    }
+    super.configure(type, params, serviceRegistry);
+  }
+}
@@ -0,0 +1,83 @@
+package io.github.antoniomayk.dxc.clients.event;
+
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import java.time.Instant;
+
+/**
+ * Event published by {@link io.github.antoniomayk.dxc.clients.service.ClientService} whenever a
+ * client is created, updated or deleted.
+ *
+ * <p>When the change is made inside a transaction, listeners should use {@link
+ * org.springframework.transaction.event.TransactionalEventListener} so they only see committed
+ * changes.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class ClientChangedEvent {
+  /** Kinds of change made to a client. */
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private final Type type;
+  private final Long clientId;
+  private final Client client;
+  private final String auditor;
+  private final Instant timestamp;
+
+  /**
+   * Constructs a new ClientChangedEvent.
+   *
+   * @param type the kind of change
+   * @param clientId the ID of the changed client
+   * @param client the state of the client after the change, or {@code null} if it was deleted
+   * @param auditor the user who made the change
+   */
+  public ClientChangedEvent(Type type, Long clientId, Client client, String auditor) {
+    this.type = type;
+    this.clientId = clientId;
+    this.client = client;
+    this.auditor = auditor;
+    this.timestamp = Instant.now();
+  }
+
+  public static ClientChangedEvent created(Client client) {
+    return new ClientChangedEvent(Type.CREATED, client.getId(), client, client.getCreatedBy());
+  }
+
+  public static ClientChangedEvent updated(Client client) {
+    return new ClientChangedEvent(Type.UPDATED, client.getId(), client, client.getModifiedBy());
+  }
+
+  public static ClientChangedEvent deleted(Long clientId, String auditor) {
+    return new ClientChangedEvent(Type.DELETED, clientId, null, auditor);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public Long getClientId() {
+    return clientId;
+  }
+
+  public Client getClient() {
+    return client;
+  }
+
+  public String getAuditor() {
+    return auditor;
+  }
+
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public String toString() {
+    return "ClientChangedEvent [type=" + type + ", clientId=" + clientId + "]";
+  }
+}
@@ -0,0 +1,241 @@
+package io.github.antoniomayk.dxc.clients.event;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed {@link ClientChangedEvent}s to Server-Sent Events subscribers.
+ *
+ * <p>Every event gets an ID made of the epoch of the process, its startup time, and a sequence
+ * number, as in {@code kf0q3x2a-42}, and is kept in a ring of the last {@code
+ * clients.events.history-size} events, so a subscriber reconnecting with {@code Last-Event-ID}
+ * receives the events it missed before the new ones. When the missed events are no longer in the
+ * ring, or the ID was issued by another epoch, such as before a restart, a {@code reset} event
+ * tells the subscriber to reload the clients instead. The epoch keeps a sequence number issued
+ * before a restart from being taken for one of the new events.
+ *
+ * <p>Events are queued per subscriber and sent by a small pool of threads, so the thread that
+ * committed the change never waits on the network. A subscriber can fall at most {@code
+ * clients.events.buffer-size} events behind; then either its oldest event is dropped or it is
+ * disconnected, depending on {@code clients.events.overflow}. Idle subscribers receive a comment
+ * every {@code clients.events.heartbeat-interval}, so closed connections are detected.
+ *
+ * <p>The number of subscribers is published as {@code clients.events.subscribers}, and overflows
+ * are counted by {@code clients.events.overflows}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class ClientEventBroadcaster implements DisposableBean {
+  private static final Logger logger = LoggerFactory.getLogger(ClientEventBroadcaster.class);
+
+  private static final Entry HEARTBEAT = new Entry(0, null);
+
+  private final ClientProperties.Events properties;
+  private final Entry[] history;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ExecutorService senders;
+  private final ScheduledExecutorService heartbeats;
+  private final Counter overflows;
+  private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+  private long lastId;
+
+  ClientEventBroadcaster(ClientProperties clientProperties, MeterRegistry meterRegistry) {
+    this.properties = clientProperties.getEvents();
+    this.history = new Entry[Math.max(properties.getHistorySize(), 1)];
+    this.senders =
+        Executors.newFixedThreadPool(
+            properties.getSenderThreads(), new CustomizableThreadFactory("clients-events-"));
+    this.heartbeats =
+        Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("clients-events-heartbeat-"));
+    final var interval = properties.getHeartbeatInterval().toMillis();
+    heartbeats.scheduleWithFixedDelay(
+        () -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)),
+        interval,
+        interval,
+        TimeUnit.MILLISECONDS);
+
+    Gauge.builder("clients.events.subscribers", subscribers, Set::size)
+        .description("Number of subscribers of the client events feed")
+        .register(meterRegistry);
+    this.overflows =
+        Counter.builder("clients.events.overflows")
+            .description("Number of times a subscriber fell too far behind the client events")
+            .tag("policy", properties.getOverflow().name().toLowerCase())
+            .register(meterRegistry);
+  }
+
+  /**
+   * Subscribes to the client events.
+   *
+   * @param lastEventId the ID of the last event received by a previous subscription, or {@code
+   *     null} to only receive new events
+   * @return the emitter of the events
+   */
+  public SseEmitter subscribe(String lastEventId) {
+    // Subscriptions never time out: closed connections are detected by the heartbeats.
+    final var subscriber = new Subscriber(new SseEmitter(0L));
+    subscriber.offer(HEARTBEAT);
+    synchronized (this) {
+      if (lastEventId != null) {
+        final var lastSequence = sequenceOf(lastEventId);
+        final var oldestId = Math.max(lastId - history.length + 1, 1);
+        if (lastSequence == null || lastSequence > lastId || lastSequence + 1 < oldestId) {
+          subscriber.offer(new Entry(lastId, null));
+        } else {
+          for (var id = lastSequence + 1; id <= lastId; id++) {
+            subscriber.offer(history[(int) (id % history.length)]);
+          }
+        }
+      }
+      subscribers.add(subscriber);
+    }
+    logger.debug("New client events subscriber, {} in total", subscribers.size());
+    return subscriber.emitter;
+  }
+
+  /**
+   * Returns the sequence number of an event ID issued in the current epoch, or {@code null} if the
+   * ID was issued by another epoch or is malformed.
+   */
+  private Long sequenceOf(String eventId) {
+    final var separator = eventId.lastIndexOf('-');
+    if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+      return null;
+    }
+    try {
+      return Long.parseLong(eventId.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onClientChanged(ClientChangedEvent event) {
+    synchronized (this) {
+      final var entry = new Entry(++lastId, event);
+      history[(int) (entry.id % history.length)] = entry;
+      subscribers.forEach(subscriber -> subscriber.offer(entry));
+    }
+  }
+
+  @Override
+  public void destroy() {
+    heartbeats.shutdownNow();
+    subscribers.forEach(Subscriber::close);
+    senders.shutdown();
+  }
+
+  /** An event with its ID, or a reset when the event is {@code null}. */
+  private static final class Entry {
+    final long id;
+    final ClientChangedEvent event;
+
+    Entry(long id, ClientChangedEvent event) {
+      this.id = id;
+      this.event = event;
+    }
+
+    SseEmitter.SseEventBuilder toSseEvent(String epoch) {
+      if (this == HEARTBEAT) {
+        return SseEmitter.event().comment("heartbeat");
+      }
+      final var eventId = epoch + '-' + id;
+      if (event == null) {
+        return SseEmitter.event()
+            .id(eventId)
+            .name("reset")
+            .data(Map.of("lastEventId", eventId), MediaType.APPLICATION_JSON);
+      }
+      return SseEmitter.event()
+          .id(eventId)
+          .name(event.getType().name().toLowerCase())
+          .data(event, MediaType.APPLICATION_JSON);
+    }
+  }
+
+  /** A subscriber with its queue of events waiting to be sent. */
+  private final class Subscriber {
+    final SseEmitter emitter;
+    final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    boolean sending;
+    boolean closed;
+
+    Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+      emitter.onCompletion(this::close);
+      emitter.onTimeout(this::close);
+      emitter.onError(error -> close());
+    }
+
+    synchronized void offer(Entry entry) {
+      if (closed || (entry == HEARTBEAT && !queue.isEmpty())) {
+        return;
+      }
+      if (queue.size() >= properties.getBufferSize() && subscribers.contains(this)) {
+        overflows.increment();
+        if (properties.getOverflow() == ClientProperties.Events.Overflow.DISCONNECT) {
+          logger.info("Disconnecting client events subscriber {} events behind", queue.size());
+          close();
+          senders.execute(emitter::complete);
+          return;
+        }
+        queue.poll();
+      }
+      queue.add(entry);
+      if (!sending) {
+        sending = true;
+        senders.execute(this::send);
+      }
+    }
+
+    void send() {
+      while (true) {
+        final Entry entry;
+        synchronized (this) {
+          entry = closed ? null : queue.poll();
+          if (entry == null) {
+            sending = false;
+            return;
+          }
+        }
+        try {
+          emitter.send(entry.toSseEvent(epoch));
+        } catch (IOException | IllegalStateException e) {
+          logger.debug("Client events subscriber is gone: {}", e.getMessage());
+          close();
+          emitter.completeWithError(e);
+          return;
+        }
+      }
+    }
+
+    synchronized void close() {
+      closed = true;
+      queue.clear();
+      subscribers.remove(this);
+    }
+  }
+}
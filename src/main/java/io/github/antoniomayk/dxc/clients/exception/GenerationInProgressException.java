@@ -0,0 +1,13 @@
+package io.github.antoniomayk.dxc.clients.exception;
+
+/**
+ * Exception thrown when client data is requested while a previous generation is still running.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class GenerationInProgressException extends RuntimeException {
+  public GenerationInProgressException(String message) {
+    super(message);
+  }
+}
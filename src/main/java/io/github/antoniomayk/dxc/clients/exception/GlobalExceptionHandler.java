@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.Locale;
 import javax.validation.ConstraintViolationException;
 import org.springframework.context.MessageSource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -28,14 +30,59 @@ public class GlobalExceptionHandler {
   }
 
   @ExceptionHandler(ClientDeletedException.class)
-  ResponseEntity<ErrorResponse> handleClientInactiveException(
-      ClientDeletedException ex, Locale locale) {
-    final var message = messageSource.getMessage("error.ClientDeletedException", null, locale);
+  ResponseEntity<ErrorResponse> handleClientInactiveException(ClientDeletedException ex) {
     final var errorResponse =
-        new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", message, null);
+        new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), null);
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
   }
 
+  @ExceptionHandler(ClientNotFoundException.class)
+  ResponseEntity<ErrorResponse> handleClientNotFoundException(ClientNotFoundException ex) {
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), null);
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+  }
+
+  @ExceptionHandler(GenerationInProgressException.class)
+  ResponseEntity<ErrorResponse> handleGenerationInProgressException(
+      GenerationInProgressException ex) {
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.CONFLICT.value(), "Conflict", ex.getMessage(), null);
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+  }
+
+  @ExceptionHandler(IdempotencyKeyMismatchException.class)
+  ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(
+      IdempotencyKeyMismatchException ex, Locale locale) {
+    final var message =
+        messageSource.getMessage("error.IdempotencyKeyMismatchException", null, locale);
+    final var errorResponse =
+        new ErrorResponse(
+            HttpStatus.UNPROCESSABLE_ENTITY.value(), "Unprocessable Entity", message, null);
+    return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  ResponseEntity<ErrorResponse> handleInvalidCursorException(
+      InvalidCursorException ex, Locale locale) {
+    final var message = messageSource.getMessage("error.InvalidCursorException", null, locale);
+    final var errorResponse =
+        new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", message, null);
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+  }
+
+  @ExceptionHandler(TaskRejectedException.class)
+  ResponseEntity<ErrorResponse> handleTaskRejectedException(
+      TaskRejectedException ex, Locale locale) {
+    final var message = messageSource.getMessage("error.TaskRejectedException", null, locale);
+    final var errorResponse =
+        new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", message, null);
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(errorResponse);
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   ResponseEntity<ErrorResponse> handleValidationExceptions(
       MethodArgumentNotValidException ex, Locale locale) {
@@ -0,0 +1,14 @@
+package io.github.antoniomayk.dxc.clients.exception;
+
+/**
+ * Exception thrown when an {@code Idempotency-Key} is reused with a request different from the one
+ * it was first sent with.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+  public IdempotencyKeyMismatchException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,13 @@
+package io.github.antoniomayk.dxc.clients.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
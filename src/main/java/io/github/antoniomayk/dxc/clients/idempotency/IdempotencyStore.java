@@ -0,0 +1,314 @@
+package io.github.antoniomayk.dxc.clients.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.antoniomayk.dxc.clients.config.AuditConfig;
+import io.github.antoniomayk.dxc.clients.config.CacheConfig;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.exception.IdempotencyKeyMismatchException;
+import io.github.antoniomayk.dxc.clients.service.ClientService;
+import io.github.antoniomayk.dxc.clients.service.ClientServiceExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates clients at most once per {@code Idempotency-Key}, so a request retried after a timeout is
+ * answered with the client created by the first attempt instead of inserting a duplicate.
+ *
+ * <p>Keys are scoped to the user sending them. The first request with a key creates the client, and
+ * the requests with the same key received while it runs wait for its result instead of inserting
+ * again. Later requests are answered from memory for {@code clients.idempotency.ttl}, without
+ * reading the {@code clients} table. A key reused with a different request is rejected with an
+ * {@link IdempotencyKeyMismatchException}. When the creation fails, the key is released so the
+ * request can be retried.
+ *
+ * <p>At most {@code clients.idempotency.maximum-size} keys are kept in memory. When {@code
+ * clients.idempotency.table-enabled} is set, responses are also stored in the {@code
+ * clients_idempotency_keys} table, in the transaction that creates the client, and keys missing
+ * from memory are looked up there. Two instances racing on the same key then conflict on its
+ * primary key, and the loser rolls its client back and answers with the client of the winner.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class IdempotencyStore implements DisposableBean {
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+  private static final String FIND_SQL =
+      "SELECT fingerprint, response FROM clients_idempotency_keys"
+          + " WHERE idempotency_key = :key AND created_at >= :since";
+  private static final String DELETE_EXPIRED_KEY_SQL =
+      "DELETE FROM clients_idempotency_keys WHERE idempotency_key = :key AND created_at < :since";
+  private static final String INSERT_SQL =
+      "INSERT INTO clients_idempotency_keys (idempotency_key, fingerprint, response)"
+          + " VALUES (:key, :fingerprint, :response)";
+  private static final String CLEANUP_SQL =
+      "DELETE FROM clients_idempotency_keys WHERE created_at < :since";
+
+  private final ClientService clientService;
+  private final ClientServiceExecutor executor;
+  private final AuditorAware<String> auditorAware;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheManager cacheManager;
+  private final ObjectWriter responseWriter;
+  private final ObjectReader responseReader;
+  private final ClientProperties.Idempotency properties;
+  private final Cache<String, CompletableFuture<Response>> responses;
+  private final Counter replays;
+  private final ScheduledExecutorService cleaner;
+
+  IdempotencyStore(
+      ClientService clientService,
+      ClientServiceExecutor executor,
+      AuditorAware<String> auditorAware,
+      NamedParameterJdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      CacheManager cacheManager,
+      ObjectMapper objectMapper,
+      ClientProperties clientProperties,
+      MeterRegistry meterRegistry) {
+    this.clientService = clientService;
+    this.executor = executor;
+    this.auditorAware = auditorAware;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.cacheManager = cacheManager;
+    this.responseWriter = objectMapper.writerFor(Client.class);
+    this.responseReader = objectMapper.readerFor(Client.class);
+    this.properties = clientProperties.getIdempotency();
+    this.responses =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .build();
+    this.replays =
+        Counter.builder("clients.idempotency.replays")
+            .description("Number of client creations answered with the response to an earlier key")
+            .register(meterRegistry);
+    if (!properties.isTableEnabled()) {
+      this.cleaner = null;
+      return;
+    }
+
+    final var interval = properties.getCleanupInterval().toNanos();
+    cleaner =
+        Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("clients-idempotency-"));
+    cleaner.scheduleWithFixedDelay(this::cleanUp, interval, interval, TimeUnit.NANOSECONDS);
+  }
+
+  static String fingerprint(ClientDto clientDto) {
+    return DigestUtils.sha256Hex(
+        Objects.toString(clientDto.getFullName(), "")
+            + '\0'
+            + Objects.toString(clientDto.getEmail(), "")
+            + '\0'
+            + Objects.toString(clientDto.getPhoneNumber(), ""));
+  }
+
+  /**
+   * Creates a client, unless a client was already created with the same key.
+   *
+   * @param idempotencyKey the key sent by the client of the API
+   * @param clientDto the client to create
+   * @return the future outcome: the created client, or the client created by the first request with
+   *     the key. It fails with an {@link IdempotencyKeyMismatchException} if the key was sent with
+   *     a different client, or with the error of the creation.
+   */
+  public CompletableFuture<Outcome> createClient(String idempotencyKey, ClientDto clientDto) {
+    final var key =
+        auditorAware.getCurrentAuditor().orElse(AuditConfig.DEFAULT_AUDITOR) + ':' + idempotencyKey;
+    final var fingerprint = fingerprint(clientDto);
+    final var response = new CompletableFuture<Response>();
+    final var previous = responses.asMap().putIfAbsent(key, response);
+    if (previous != null) {
+      return previous.thenApply(stored -> replay(stored, fingerprint));
+    }
+
+    try {
+      executor
+          .supply(() -> createOnce(key, fingerprint, clientDto))
+          .whenComplete(
+              (created, error) -> {
+                if (error == null) {
+                  response.complete(created);
+                  return;
+                }
+                responses.asMap().remove(key, response);
+                response.completeExceptionally(
+                    error instanceof CompletionException ? error.getCause() : error);
+              });
+    } catch (RuntimeException e) {
+      responses.asMap().remove(key, response);
+      response.completeExceptionally(e);
+    }
+    return response.thenApply(
+        created ->
+            created.stored ? replay(created, fingerprint) : new Outcome(created.client, false));
+  }
+
+  private Outcome replay(Response response, String fingerprint) {
+    if (!response.fingerprint.equals(fingerprint)) {
+      throw new IdempotencyKeyMismatchException(
+          "Idempotency-Key was already used with a different request");
+    }
+    replays.increment();
+    return new Outcome(response.client, true);
+  }
+
+  private Response createOnce(String key, String fingerprint, ClientDto clientDto) {
+    if (!properties.isTableEnabled()) {
+      return new Response(fingerprint, clientService.createClient(clientDto), false);
+    }
+
+    final var since = Timestamp.from(Instant.now().minus(properties.getTtl()));
+    final var stored = find(key, since);
+    if (stored != null) {
+      return stored;
+    }
+    final var created = new AtomicReference<Client>();
+    try {
+      return transactionTemplate.execute(
+          status -> {
+            created.set(clientService.createClient(clientDto));
+            jdbcTemplate.update(DELETE_EXPIRED_KEY_SQL, Map.of("key", key, "since", since));
+            jdbcTemplate.update(
+                INSERT_SQL,
+                Map.of("key", key, "fingerprint", fingerprint, "response", write(created.get())));
+            return new Response(fingerprint, created.get(), false);
+          });
+    } catch (RuntimeException e) {
+      // The client created here was rolled back, but already put in the cache.
+      if (created.get() != null) {
+        cacheManager.getCache(CacheConfig.CLIENTS_CACHE).evict(created.get().getId());
+      }
+      if (!(e instanceof DuplicateKeyException)) {
+        throw e;
+      }
+      // Another instance stored the key first.
+      final var winner = find(key, since);
+      if (winner == null) {
+        throw e;
+      }
+      return winner;
+    }
+  }
+
+  private Response find(String key, Timestamp since) {
+    return jdbcTemplate
+        .query(
+            FIND_SQL,
+            Map.of("key", key, "since", since),
+            (row, rowNum) -> new Response(row.getString(1), read(row.getString(2)), true))
+        .stream()
+        .findFirst()
+        .orElse(null);
+  }
+
+  private String write(Client client) {
+    try {
+      return responseWriter.writeValueAsString(client);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize client " + client.getId(), e);
+    }
+  }
+
+  private Client read(String response) {
+    try {
+      return responseReader.readValue(response);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not deserialize stored client: " + response, e);
+    }
+  }
+
+  private void cleanUp() {
+    try {
+      final var deleted =
+          jdbcTemplate.update(
+              CLEANUP_SQL,
+              Map.of("since", Timestamp.from(Instant.now().minus(properties.getTtl()))));
+      logger.debug("Deleted {} expired idempotency keys", deleted);
+    } catch (RuntimeException e) {
+      logger.error("Could not delete expired idempotency keys", e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (cleaner != null) {
+      cleaner.shutdownNow();
+    }
+  }
+
+  /** Response to the first request made with a key. */
+  private static final class Response {
+    private final String fingerprint;
+    private final Client client;
+    private final boolean stored;
+
+    private Response(String fingerprint, Client client, boolean stored) {
+      this.fingerprint = fingerprint;
+      this.client = client;
+      this.stored = stored;
+    }
+  }
+
+  /** Client answered to a request made with an {@code Idempotency-Key}. */
+  public static final class Outcome {
+    private final Client client;
+    private final boolean replayed;
+
+    private Outcome(Client client, boolean replayed) {
+      this.client = client;
+      this.replayed = replayed;
+    }
+
+    /**
+     * Returns the client created for the key.
+     *
+     * @return the client created for the key
+     */
+    public Client getClient() {
+      return client;
+    }
+
+    /**
+     * Returns whether the client was created by an earlier request with the same key.
+     *
+     * @return {@code true} if the client was created by an earlier request
+     */
+    public boolean isReplayed() {
+      return replayed;
+    }
+  }
+}
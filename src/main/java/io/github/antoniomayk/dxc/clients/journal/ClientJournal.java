@@ -0,0 +1,320 @@
+package io.github.antoniomayk.dxc.clients.journal;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Append-only journal of the changes made to clients, so other systems can follow them without
+ * polling the {@code clients} table.
+ *
+ * <p>Every committed {@link ClientChangedEvent} is appended as a {@link JournalRecord} to a
+ * memory-mapped segment file in {@code clients.journal.directory}, on the thread that made the
+ * change. Appending only copies the record into the mapping, so it costs microseconds and never
+ * touches the database. Mapped pages are forced to disk every {@code
+ * clients.journal.flush-interval} by a background thread, or after every record when the interval
+ * is {@code 0}.
+ *
+ * <p>Each record is identified by its offset, its position in the journal as a whole. Segments are
+ * named after the offset of their first record and hold {@code clients.journal.segment-size} bytes.
+ * When a record does not fit in the current segment, a new one is created, and the oldest segments
+ * beyond {@code clients.journal.retained-segments} are deleted. Records are read with a {@link
+ * JournalReader}, which tails the journal from any retained offset.
+ *
+ * <p>At startup, the last segment is scanned to find where appending should resume. If it ends with
+ * a record torn by a crash, appending resumes in a new segment, so the torn record is never
+ * overwritten by a shorter one that could make stale bytes readable again.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class ClientJournal implements DisposableBean {
+  private static final Logger logger = LoggerFactory.getLogger(ClientJournal.class);
+
+  private static final String SEGMENT_SUFFIX = ".journal";
+
+  private final ClientProperties.Journal properties;
+  private final ConcurrentNavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+  private final Timer appendTimer;
+  private final Counter failures;
+
+  private FileChannel lockChannel;
+  private FileLock lock;
+  private ScheduledExecutorService flusher;
+
+  private volatile MappedByteBuffer segment;
+  private long segmentOffset;
+  private volatile long endOffset;
+  private volatile long flushedOffset;
+
+  ClientJournal(ClientProperties clientProperties, MeterRegistry meterRegistry) throws IOException {
+    this.properties = clientProperties.getJournal();
+    this.appendTimer =
+        Timer.builder("clients.journal.append")
+            .description("Time spent appending a change to the journal")
+            .register(meterRegistry);
+    this.failures =
+        Counter.builder("clients.journal.failures")
+            .description("Number of changes that could not be appended to the journal")
+            .register(meterRegistry);
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    final var directory = properties.getDirectory();
+    Files.createDirectories(directory);
+    lockChannel =
+        FileChannel.open(
+            directory.resolve("journal.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    try {
+      lock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      lock = null;
+    }
+    if (lock == null) {
+      lockChannel.close();
+      throw new IllegalStateException("Client journal " + directory + " is already in use");
+    }
+
+    try (var files = Files.list(directory)) {
+      segments.putAll(
+          files
+              .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+              .collect(Collectors.toMap(ClientJournal::offsetOf, file -> file)));
+    }
+    if (segments.isEmpty()) {
+      openSegment(0);
+    } else {
+      recover(segments.lastEntry());
+    }
+
+    if (!properties.getFlushInterval().isZero()) {
+      final var interval = properties.getFlushInterval().toNanos();
+      flusher =
+          Executors.newSingleThreadScheduledExecutor(
+              new CustomizableThreadFactory("clients-journal-"));
+      flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+    }
+    logger.info(
+        "Appending client changes to {} from offset {}", directory.toAbsolutePath(), endOffset);
+  }
+
+  private static long offsetOf(Path segment) {
+    final var name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, long size)
+      throws IOException {
+    final var options =
+        mode == FileChannel.MapMode.READ_ONLY
+            ? new StandardOpenOption[] {StandardOpenOption.READ}
+            : new StandardOpenOption[] {
+              StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            };
+    try (var channel = FileChannel.open(path, options)) {
+      return channel.map(mode, 0, size < 0 ? channel.size() : size);
+    }
+  }
+
+  private void recover(Map.Entry<Long, Path> last) throws IOException {
+    final var buffer = map(last.getValue(), FileChannel.MapMode.READ_WRITE, -1);
+    var position = 0;
+    for (var size = JournalRecord.sizeAt(buffer, position);
+        size > 0;
+        size = JournalRecord.sizeAt(buffer, position)) {
+      position += size;
+    }
+
+    final var end = last.getKey() + position;
+    var torn = false;
+    for (var i = position; i < Math.min(buffer.limit(), position + JournalRecord.MAX_SIZE); i++) {
+      torn |= buffer.get(i) != 0;
+    }
+    if (torn) {
+      logger.warn("Discarding torn record at offset {} of the client journal", end);
+      openSegment(end);
+    } else {
+      segment = buffer.position(position);
+      segmentOffset = last.getKey();
+      endOffset = end;
+    }
+    flushedOffset = end;
+  }
+
+  private void openSegment(long offset) throws IOException {
+    if (segment != null) {
+      segment.force();
+    }
+    final var path =
+        properties.getDirectory().resolve(String.format("%020d", offset) + SEGMENT_SUFFIX);
+    segment = map(path, FileChannel.MapMode.READ_WRITE, properties.getSegmentSize().toBytes());
+    segmentOffset = offset;
+    endOffset = offset;
+    segments.put(offset, path);
+
+    while (segments.size() > Math.max(properties.getRetainedSegments(), 1)) {
+      final var oldest = segments.pollFirstEntry();
+      Files.deleteIfExists(oldest.getValue());
+      logger.info("Deleted client journal segment {}", oldest.getValue());
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onClientChanged(ClientChangedEvent event) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      append(JournalRecord.of(event));
+    } catch (RuntimeException e) {
+      failures.increment();
+      logger.error("Could not append {} to the client journal", event, e);
+    }
+  }
+
+  private void ensureEnabled() {
+    if (!properties.isEnabled()) {
+      throw new IllegalStateException("Client journal is disabled");
+    }
+  }
+
+  /**
+   * Appends a record to the journal.
+   *
+   * @param record the record to append, whose offset is ignored
+   * @return the offset of the appended record
+   * @throws IllegalStateException if the journal is disabled
+   * @throws IllegalArgumentException if the record does not fit in a segment
+   * @throws UncheckedIOException if a new segment could not be created
+   */
+  public long append(JournalRecord record) {
+    ensureEnabled();
+    final long start = System.nanoTime();
+    final var encoded = record.encode();
+    if (encoded.limit() > properties.getSegmentSize().toBytes()) {
+      throw new IllegalArgumentException("Journal record does not fit in a segment");
+    }
+
+    final long offset;
+    synchronized (this) {
+      if (encoded.limit() > segment.remaining()) {
+        try {
+          openSegment(endOffset);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      offset = segmentOffset + segment.position();
+      segment.put(encoded);
+      endOffset = offset + encoded.limit();
+    }
+
+    if (flusher == null) {
+      flush();
+    }
+    appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return offset;
+  }
+
+  /** Forces the records appended so far to disk. */
+  public void flush() {
+    final var end = endOffset;
+    final var current = segment;
+    if (current != null && end > flushedOffset) {
+      current.force();
+      flushedOffset = end;
+    }
+  }
+
+  /**
+   * Returns the offset of the oldest retained record.
+   *
+   * @return the offset of the first retained segment
+   * @throws IllegalStateException if the journal is disabled
+   */
+  public long startOffset() {
+    ensureEnabled();
+    return segments.firstKey();
+  }
+
+  /**
+   * Returns the offset right after the last appended record, where the next record will be
+   * appended.
+   *
+   * @return the end offset of the journal
+   * @throws IllegalStateException if the journal is disabled
+   */
+  public long endOffset() {
+    ensureEnabled();
+    return endOffset;
+  }
+
+  /**
+   * Opens a reader of the records appended from the given offset.
+   *
+   * @param offset the offset of the first record to read, usually {@link JournalRecord#getOffset()}
+   *     of the last record processed plus its size, or {@link JournalReader#position()}. Offsets
+   *     older than the retained segments start from the oldest retained record.
+   * @return a reader positioned at the given offset
+   * @throws IllegalStateException if the journal is disabled
+   */
+  public JournalReader reader(long offset) {
+    ensureEnabled();
+    return new JournalReader(this, offset);
+  }
+
+  Map.Entry<Long, Path> segmentAt(long offset) {
+    final var entry = segments.floorEntry(offset);
+    return entry != null ? entry : segments.firstEntry();
+  }
+
+  Map.Entry<Long, Path> segmentAfter(long segmentOffset) {
+    return segments.higherEntry(segmentOffset);
+  }
+
+  static ByteBuffer mapReadOnly(Path path) throws IOException {
+    return map(path, FileChannel.MapMode.READ_ONLY, -1);
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    if (flusher != null) {
+      flusher.shutdown();
+    }
+    synchronized (this) {
+      segment.force();
+    }
+    lock.release();
+    lockChannel.close();
+  }
+}
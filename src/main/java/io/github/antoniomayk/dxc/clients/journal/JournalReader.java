@@ -0,0 +1,79 @@
+package io.github.antoniomayk.dxc.clients.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Reads the records of a {@link ClientJournal} in order, from a given offset.
+ *
+ * <p>{@link #poll()} returns {@code null} once every appended record has been read, and can be
+ * called again later to read the records appended since, so the reader tails the journal. Each
+ * segment is mapped read-only while it is being read. A reader is not thread-safe.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class JournalReader {
+  private final ClientJournal journal;
+
+  private long position;
+  private long segmentOffset;
+  private ByteBuffer segment;
+
+  JournalReader(ClientJournal journal, long position) {
+    this.journal = journal;
+    this.position = position;
+  }
+
+  /**
+   * Returns the offset of the next record to read, which can be used to open a new reader that
+   * resumes where this one stopped.
+   *
+   * @return the offset of the next record
+   */
+  public long position() {
+    return position;
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the next record, or {@code null} if every appended record has been read
+   * @throws UncheckedIOException if a segment could not be read
+   */
+  public JournalRecord poll() {
+    while (position < journal.endOffset()) {
+      if (segment == null) {
+        final var entry = journal.segmentAt(position);
+        try {
+          segment = ClientJournal.mapReadOnly(entry.getValue());
+        } catch (NoSuchFileException e) {
+          // Deleted by retention since it was looked up, the next lookup skips it.
+          continue;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        segmentOffset = entry.getKey();
+        position = Math.max(position, segmentOffset);
+      }
+
+      final var local = (int) (position - segmentOffset);
+      final var size = JournalRecord.sizeAt(segment, local);
+      if (size > 0) {
+        final var record = JournalRecord.decode(segment, local, position);
+        position += size;
+        return record;
+      }
+
+      final var next = journal.segmentAfter(segmentOffset);
+      if (next == null) {
+        return null;
+      }
+      position = next.getKey();
+      segment = null;
+    }
+    return null;
+  }
+}
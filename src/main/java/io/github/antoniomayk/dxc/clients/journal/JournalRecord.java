@@ -0,0 +1,250 @@
+package io.github.antoniomayk.dxc.clients.journal;
+
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A change made to a client, as stored in the {@link ClientJournal}.
+ *
+ * <p>Records are stored as a header holding the payload size and its CRC-32, followed by the
+ * payload: the kind of change, the client ID, the timestamp in microseconds since the epoch, and
+ * the auditor, full name, email and phone number as UTF-8 strings prefixed by their length. The
+ * fields of deleted clients are stored as {@code null}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class JournalRecord {
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  private static final int FIXED_PAYLOAD_SIZE = 1 + 2 * Long.BYTES;
+  private static final int NULL_LENGTH = 0xFFFF;
+
+  /** Maximum size of an encoded record, with four strings of the maximum length. */
+  static final int MAX_SIZE =
+      HEADER_SIZE + FIXED_PAYLOAD_SIZE + 4 * (Short.BYTES + NULL_LENGTH - 1);
+
+  private static final ClientChangedEvent.Type[] TYPES = ClientChangedEvent.Type.values();
+
+  private final long offset;
+  private final ClientChangedEvent.Type type;
+  private final long clientId;
+  private final Instant timestamp;
+  private final String auditor;
+  private final String fullName;
+  private final String email;
+  private final String phoneNumber;
+
+  /**
+   * Constructs a new JournalRecord.
+   *
+   * @param offset the offset of the record in the journal, or {@code -1} if not appended yet
+   * @param type the kind of change
+   * @param clientId the ID of the changed client
+   * @param timestamp the time of the change
+   * @param auditor the user who made the change
+   * @param fullName the full name of the client after the change, {@code null} if deleted
+   * @param email the email of the client after the change, {@code null} if deleted
+   * @param phoneNumber the phone number of the client after the change, {@code null} if deleted
+   */
+  public JournalRecord(
+      long offset,
+      ClientChangedEvent.Type type,
+      long clientId,
+      Instant timestamp,
+      String auditor,
+      String fullName,
+      String email,
+      String phoneNumber) {
+    this.offset = offset;
+    this.type = type;
+    this.clientId = clientId;
+    this.timestamp = timestamp;
+    this.auditor = auditor;
+    this.fullName = fullName;
+    this.email = email;
+    this.phoneNumber = phoneNumber;
+  }
+
+  /**
+   * Creates the record of a change, to be appended to the journal.
+   *
+   * @param event the change
+   * @return the record of the change
+   */
+  public static JournalRecord of(ClientChangedEvent event) {
+    final var client = event.getClient();
+    return new JournalRecord(
+        -1,
+        event.getType(),
+        event.getClientId(),
+        event.getTimestamp(),
+        event.getAuditor(),
+        client == null ? null : client.getFullName(),
+        client == null ? null : client.getEmail(),
+        client == null ? null : client.getPhoneNumber());
+  }
+
+  private static byte[] encode(String value) {
+    if (value == null) {
+      return null;
+    }
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length >= NULL_LENGTH) {
+      throw new IllegalArgumentException("Journal fields are limited to 65534 bytes");
+    }
+    return bytes;
+  }
+
+  private static int sizeOf(byte[] value) {
+    return Short.BYTES + (value == null ? 0 : value.length);
+  }
+
+  private static void put(ByteBuffer buffer, byte[] value) {
+    if (value == null) {
+      buffer.putShort((short) NULL_LENGTH);
+    } else {
+      buffer.putShort((short) value.length).put(value);
+    }
+  }
+
+  private static String get(ByteBuffer buffer) {
+    final var length = Short.toUnsignedInt(buffer.getShort());
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    final var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Encodes this record.
+   *
+   * @return the header and payload of this record
+   */
+  ByteBuffer encode() {
+    final var encodedAuditor = encode(auditor);
+    final var encodedFullName = encode(fullName);
+    final var encodedEmail = encode(email);
+    final var encodedPhoneNumber = encode(phoneNumber);
+    final var payloadSize =
+        FIXED_PAYLOAD_SIZE
+            + sizeOf(encodedAuditor)
+            + sizeOf(encodedFullName)
+            + sizeOf(encodedEmail)
+            + sizeOf(encodedPhoneNumber);
+
+    final var buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+    buffer.position(HEADER_SIZE);
+    buffer
+        .put((byte) type.ordinal())
+        .putLong(clientId)
+        .putLong(ChronoUnit.MICROS.between(Instant.EPOCH, timestamp));
+    put(buffer, encodedAuditor);
+    put(buffer, encodedFullName);
+    put(buffer, encodedEmail);
+    put(buffer, encodedPhoneNumber);
+
+    final var crc = new CRC32();
+    crc.update(buffer.flip().position(HEADER_SIZE));
+    buffer.putInt(0, payloadSize).putInt(Integer.BYTES, (int) crc.getValue());
+    return buffer.rewind();
+  }
+
+  /**
+   * Returns the total size of the record stored at the given position, after checking its CRC.
+   *
+   * @param segment the segment holding the record
+   * @param position the position of the record in the segment
+   * @return the size of the header and payload of the record, or {@code 0} if there is no complete
+   *     record at that position, which marks the end of the segment
+   */
+  static int sizeAt(ByteBuffer segment, int position) {
+    if (position > segment.limit() - HEADER_SIZE) {
+      return 0;
+    }
+    final var payloadSize = segment.getInt(position);
+    if (payloadSize < FIXED_PAYLOAD_SIZE
+        || payloadSize > segment.limit() - position - HEADER_SIZE) {
+      return 0;
+    }
+    final var crc = new CRC32();
+    crc.update(
+        segment
+            .duplicate()
+            .position(position + HEADER_SIZE)
+            .limit(position + HEADER_SIZE + payloadSize));
+    if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+      return 0;
+    }
+    return HEADER_SIZE + payloadSize;
+  }
+
+  /**
+   * Decodes the record stored at the given position, which must have been checked by {@link
+   * #sizeAt(ByteBuffer, int)}.
+   *
+   * @param segment the segment holding the record
+   * @param position the position of the record in the segment
+   * @param offset the offset of the record in the journal
+   * @return the record
+   */
+  static JournalRecord decode(ByteBuffer segment, int position, long offset) {
+    final var buffer = segment.duplicate().position(position + HEADER_SIZE);
+    final var type = TYPES[buffer.get()];
+    final var clientId = buffer.getLong();
+    final var timestamp = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+    return new JournalRecord(
+        offset, type, clientId, timestamp, get(buffer), get(buffer), get(buffer), get(buffer));
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public ClientChangedEvent.Type getType() {
+    return type;
+  }
+
+  public long getClientId() {
+    return clientId;
+  }
+
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  public String getAuditor() {
+    return auditor;
+  }
+
+  public String getFullName() {
+    return fullName;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public String getPhoneNumber() {
+    return phoneNumber;
+  }
+
+  @Override
+  public String toString() {
+    return "JournalRecord [offset="
+        + offset
+        + ", type="
+        + type
+        + ", clientId="
+        + clientId
+        + ", timestamp="
+        + timestamp
+        + "]";
+  }
+}
@@ -0,0 +1,150 @@
+package io.github.antoniomayk.dxc.clients.ratelimit;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the number of requests processed at once with an adaptive limit, so an overloaded service
+ * rejects requests immediately instead of queueing them until they time out.
+ *
+ * <p>The limit follows an additive increase, multiplicative decrease (AIMD) rule. Every request
+ * answered within {@code clients.concurrency-limit.latency-threshold} while at least half of the
+ * limit is in use raises it by {@code 1 / limit}, about one per round of requests. Every slower or
+ * dropped request multiplies it by {@code clients.concurrency-limit.backoff-ratio}. The limit stays
+ * between {@code min-limit} and {@code max-limit}.
+ *
+ * <p>The requests in flight and the limit are atomic counters, so the limiter never blocks. They
+ * are published as the {@code clients.limiter.inflight} and {@code clients.limiter.limit} gauges.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class ConcurrencyLimiter {
+  private final ClientProperties.ConcurrencyLimit properties;
+  private final long latencyThreshold;
+  private final LongSupplier clock;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  // Fractional limit, stored as the bits of a double so it can be updated with compare-and-set.
+  private final AtomicLong limit;
+
+  @Autowired
+  ConcurrencyLimiter(ClientProperties clientProperties, MeterRegistry meterRegistry) {
+    this(clientProperties.getConcurrencyLimit(), System::nanoTime);
+    Gauge.builder("clients.limiter.inflight", inFlight, AtomicInteger::get)
+        .description("Number of requests being processed")
+        .register(meterRegistry);
+    Gauge.builder("clients.limiter.limit", this, ConcurrencyLimiter::getLimit)
+        .description("Number of requests allowed to be processed at once")
+        .register(meterRegistry);
+  }
+
+  ConcurrencyLimiter(ClientProperties.ConcurrencyLimit properties, LongSupplier clock) {
+    this.properties = properties;
+    this.latencyThreshold = properties.getLatencyThreshold().toNanos();
+    this.clock = clock;
+    this.limit = new AtomicLong(Double.doubleToLongBits(bound(properties.getInitialLimit())));
+  }
+
+  private double bound(double value) {
+    return Math.min(Math.max(value, properties.getMinLimit()), properties.getMaxLimit());
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return the number of requests allowed to be processed at once
+   */
+  public int getLimit() {
+    return (int) Double.longBitsToDouble(limit.get());
+  }
+
+  /**
+   * Returns the number of requests being processed.
+   *
+   * @return the number of permits acquired and not released yet
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Acquires a permit to process a request.
+   *
+   * @return the permit, to release once the request is answered, or {@code null} if the limit is
+   *     reached
+   */
+  public Permit tryAcquire() {
+    while (true) {
+      final var current = inFlight.get();
+      if (current >= getLimit()) {
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1, clock.getAsLong());
+      }
+    }
+  }
+
+  private void adjust(boolean dropped, int inFlightAtStart, long latency) {
+    limit.getAndUpdate(
+        bits -> {
+          final var current = Double.longBitsToDouble(bits);
+          final double next;
+          if (dropped || latency > latencyThreshold) {
+            next = current * properties.getBackoffRatio();
+          } else if (inFlightAtStart * 2 >= current) {
+            next = current + 1 / current;
+          } else {
+            return bits;
+          }
+          return Double.doubleToLongBits(bound(next));
+        });
+  }
+
+  /** Permit to process one request. Only its first release is taken into account. */
+  public final class Permit {
+    private final int inFlightAtStart;
+    private final long start;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(int inFlightAtStart, long start) {
+      this.inFlightAtStart = inFlightAtStart;
+      this.start = start;
+    }
+
+    private boolean release() {
+      if (!released.compareAndSet(false, true)) {
+        return false;
+      }
+      inFlight.decrementAndGet();
+      return true;
+    }
+
+    /** Releases the permit of a request answered normally, adjusting the limit to its latency. */
+    public void onSuccess() {
+      if (release()) {
+        adjust(false, inFlightAtStart, clock.getAsLong() - start);
+      }
+    }
+
+    /** Releases the permit of a request that failed or timed out, decreasing the limit. */
+    public void onDropped() {
+      if (release()) {
+        adjust(true, inFlightAtStart, clock.getAsLong() - start);
+      }
+    }
+
+    /** Releases the permit of a request whose latency says nothing about the load. */
+    public void onIgnore() {
+      release();
+    }
+  }
+}
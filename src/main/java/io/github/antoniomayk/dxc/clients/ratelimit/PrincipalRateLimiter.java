@@ -0,0 +1,77 @@
+package io.github.antoniomayk.dxc.clients.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the requests of every user to {@code clients.rate-limit.requests-per-second}, with bursts
+ * of up to {@code clients.rate-limit.burst} requests.
+ *
+ * <p>It is a token bucket implemented as the generic cell rate algorithm (GCRA): the only state of
+ * a user is the theoretical arrival time of its next request, updated with a compare-and-set, so
+ * requests of different users never contend and requests of the same user never block. Users idle
+ * for longer than it takes to refill their bucket are forgotten, and at most {@code
+ * clients.rate-limit.max-principals} users are tracked.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class PrincipalRateLimiter {
+  private final boolean enabled;
+  private final long emissionInterval;
+  private final long tolerance;
+  private final LongSupplier clock;
+  private final Cache<String, AtomicLong> arrivals;
+
+  @Autowired
+  PrincipalRateLimiter(ClientProperties clientProperties) {
+    this(clientProperties.getRateLimit(), System::nanoTime);
+  }
+
+  PrincipalRateLimiter(ClientProperties.RateLimit properties, LongSupplier clock) {
+    this.enabled = properties.isEnabled();
+    this.emissionInterval =
+        Math.max((long) (TimeUnit.SECONDS.toNanos(1) / properties.getRequestsPerSecond()), 1L);
+    this.tolerance = emissionInterval * Math.max(properties.getBurst(), 1);
+    this.clock = clock;
+    this.arrivals =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxPrincipals())
+            .expireAfterAccess(Duration.ofNanos(tolerance))
+            .build();
+  }
+
+  /**
+   * Takes a token from the bucket of the given user.
+   *
+   * @param principal the name of the user sending the request
+   * @return {@code 0} if the request is allowed, otherwise the nanoseconds to wait before the user
+   *     gets a token back
+   */
+  public long tryAcquire(String principal) {
+    if (!enabled) {
+      return 0;
+    }
+    final var now = clock.getAsLong();
+    final var arrival = arrivals.get(principal, ignored -> new AtomicLong(now));
+    while (true) {
+      final var expected = arrival.get();
+      final var next = Math.max(expected, now) + emissionInterval;
+      final var wait = next - now - tolerance;
+      if (wait > 0) {
+        return wait;
+      }
+      if (arrival.compareAndSet(expected, next)) {
+        return 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package io.github.antoniomayk.dxc.clients.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.antoniomayk.dxc.clients.config.AuditConfig;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+
+/**
+ * Applies the {@link PrincipalRateLimiter} and the {@link ConcurrencyLimiter} to the authenticated
+ * API requests. It runs in the security filter chain once the user is authenticated, so rejected
+ * requests never reach the controllers or the database.
+ *
+ * <p>Requests of a user over its rate are answered with {@code 429 Too Many Requests}, and requests
+ * over the concurrency limit with {@code 503 Service Unavailable}, both with a {@code Retry-After}
+ * header. The user is the one recorded as auditor of the changes. Asynchronous requests hold their
+ * permit until they complete. Event streams are not limited in concurrency, and streamed responses
+ * do not adjust the limit, as their duration depends on the subscriber.
+ *
+ * <p>Decisions are counted by {@code clients.limiter.decisions}, tagged with {@code
+ * decision=accepted}, {@code throttled} or {@code shed}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+  private static final RequestMatcher API = new AntPathRequestMatcher("/api/**");
+  private static final RequestMatcher EVENTS = new AntPathRequestMatcher("/api/v1/clients/events");
+
+  private final PrincipalRateLimiter rateLimiter;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final boolean concurrencyLimitEnabled;
+  private final AuditorAware<String> auditorAware;
+  private final MessageSource messageSource;
+  private final LocaleResolver localeResolver;
+  private final ObjectMapper objectMapper;
+  private final Counter accepted;
+  private final Counter throttled;
+  private final Counter shed;
+
+  RateLimitFilter(
+      PrincipalRateLimiter rateLimiter,
+      ConcurrencyLimiter concurrencyLimiter,
+      ClientProperties clientProperties,
+      AuditorAware<String> auditorAware,
+      MessageSource messageSource,
+      LocaleResolver localeResolver,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.rateLimiter = rateLimiter;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.concurrencyLimitEnabled = clientProperties.getConcurrencyLimit().isEnabled();
+    this.auditorAware = auditorAware;
+    this.messageSource = messageSource;
+    this.localeResolver = localeResolver;
+    this.objectMapper = objectMapper;
+    this.accepted = decisions("accepted", meterRegistry);
+    this.throttled = decisions("throttled", meterRegistry);
+    this.shed = decisions("shed", meterRegistry);
+  }
+
+  private static Counter decisions(String decision, MeterRegistry meterRegistry) {
+    return Counter.builder("clients.limiter.decisions")
+        .description("Number of API requests accepted or rejected by the limiters")
+        .tag("decision", decision)
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !API.matches(request);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+      // Rejected by the authorization rules anyway.
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    final var wait =
+        rateLimiter.tryAcquire(
+            auditorAware.getCurrentAuditor().orElse(AuditConfig.DEFAULT_AUDITOR));
+    if (wait > 0) {
+      throttled.increment();
+      reject(
+          request,
+          response,
+          HttpStatus.TOO_MANY_REQUESTS,
+          "error.RateLimitExceeded",
+          Math.max(TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1), 1));
+      return;
+    }
+    if (!concurrencyLimitEnabled || EVENTS.matches(request)) {
+      accepted.increment();
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    final var permit = concurrencyLimiter.tryAcquire();
+    if (permit == null) {
+      shed.increment();
+      reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "error.TaskRejectedException", 1);
+      return;
+    }
+    accepted.increment();
+    try {
+      filterChain.doFilter(request, response);
+    } catch (IOException | ServletException | RuntimeException e) {
+      permit.onDropped();
+      throw e;
+    }
+
+    if (!request.isAsyncStarted()) {
+      release(permit, response);
+      return;
+    }
+    request
+        .getAsyncContext()
+        .addListener(
+            new AsyncListener() {
+              @Override
+              public void onComplete(AsyncEvent event) {
+                release(permit, response);
+              }
+
+              @Override
+              public void onTimeout(AsyncEvent event) {
+                permit.onDropped();
+              }
+
+              @Override
+              public void onError(AsyncEvent event) {
+                permit.onDropped();
+              }
+
+              @Override
+              public void onStartAsync(AsyncEvent event) {
+                // The permit is released when the request completes.
+              }
+            });
+  }
+
+  private static void release(ConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+    final var status = response.getStatus();
+    final var contentType = response.getContentType();
+    if (status == HttpStatus.SERVICE_UNAVAILABLE.value()
+        || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+      permit.onDropped();
+    } else if (contentType != null
+        && MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+      permit.onIgnore();
+    } else {
+      permit.onSuccess();
+    }
+  }
+
+  private void reject(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      HttpStatus status,
+      String messageKey,
+      long retryAfterSeconds)
+      throws IOException {
+    final var message =
+        messageSource.getMessage(messageKey, null, localeResolver.resolveLocale(request));
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(),
+        new ErrorResponse(status.value(), status.getReasonPhrase(), message, null));
+  }
+}
@@ -1,34 +1,87 @@
 package io.github.antoniomayk.dxc.clients.repository;
 
 import io.github.antoniomayk.dxc.clients.entity.Client;
-import java.util.Collection;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Repository interface for managing {@link Client} entities.
+ * Repository interface for managing {@link Client} entities. List reads return the {@link
+ * io.github.antoniomayk.dxc.clients.dto.ClientView}s of {@link ClientViewRepository}.
  *
  * @author Antonio Mayk
  * @since 0.1
  */
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientViewRepository {
 
-  @Query("SELECT c FROM Client c WHERE c.deletedAt IS NULL")
-  Collection<Client> findAllActiveClients();
+  /**
+   * Streams all active clients, ordered by ID, through a forward-only JDBC cursor. The loaded
+   * entities are read-only. The embedded H2 database builds the whole result before returning its
+   * first row, so the memory used grows with the number of clients; readers that must stay bounded
+   * use {@link #findActiveClientsAfter} pages instead.
+   *
+   * <p>Must be called inside a transaction, and the stream must be closed after use.
+   *
+   * @return a stream of all active clients
+   */
+  @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"))
+  @Query("SELECT c FROM Client c WHERE c.deletedAt IS NULL ORDER BY c.id")
+  Stream<Client> streamAllActiveClients();
 
-  @Modifying
+  /**
+   * Updates the given client in a single statement, provided it has not been deleted.
+   *
+   * @param clientId the ID of the client to update
+   * @param fullName the new full name
+   * @param email the new email address
+   * @param phoneNumber the new phone number
+   * @param normalizedPhoneNumber the new phone number in E.164 format
+   * @param modifiedBy the user performing the update
+   * @return {@code 1} if the client was updated, or {@code 0} if it does not exist or is deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
   @Transactional
   @Query(
-      value = "UPDATE clients SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?1",
+      value =
+          "UPDATE clients SET full_name = ?2, email = ?3, phone_number = ?4,"
+              + " normalized_phone_number = ?5, modified_by = ?6, modified_at = CURRENT_TIMESTAMP"
+              + " WHERE id = ?1 AND deleted_at IS NULL",
       nativeQuery = true)
-  void deactivateClient(Long clientId);
+  int updateActiveClient(
+      Long clientId,
+      String fullName,
+      String email,
+      String phoneNumber,
+      String normalizedPhoneNumber,
+      String modifiedBy);
 
+  /**
+   * Soft-deletes the given client in a single statement, provided it has not been deleted yet.
+   *
+   * @param clientId the ID of the client to delete
+   * @return {@code 1} if the client was deleted, or {@code 0} if it does not exist or is already
+   *     deleted
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Transactional
   @Query(
-      value = "SELECT EXISTS (SELECT 1 FROM clients WHERE id =?1 AND deleted_at IS NULL)",
+      value =
+          "UPDATE clients SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?1 AND deleted_at IS NULL",
       nativeQuery = true)
-  boolean existsByIdAndNotDeleted(Long clientId);
+  int deactivateClient(Long clientId);
+
+  /**
+   * Checks whether the given client has been moved to the {@code clients_archive} table.
+   *
+   * @param clientId the ID of the client to check
+   * @return {@code true} if the client was deleted and archived
+   */
+  @Query(value = "SELECT COUNT(*) > 0 FROM clients_archive WHERE id = ?1", nativeQuery = true)
+  boolean isArchived(Long clientId);
 }
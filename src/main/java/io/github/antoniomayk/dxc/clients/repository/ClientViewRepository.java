@@ -0,0 +1,36 @@
+package io.github.antoniomayk.dxc.clients.repository;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Read queries returning {@link ClientView}s instead of managed {@link
+ * io.github.antoniomayk.dxc.clients.entity.Client} entities, for reads whose results are only
+ * serialized. Part of {@link ClientRepository}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public interface ClientViewRepository {
+
+  /**
+   * Seeks the active clients whose ID is greater than {@code afterId}, ordered by ID. Only the page
+   * size of the given {@link Pageable} is used, so the cost of a page does not depend on how deep
+   * it is.
+   *
+   * @param afterId the ID of the last client of the previous page, or {@code 0} for the first page
+   * @param pageable the page size to fetch
+   * @return the active clients following {@code afterId}
+   */
+  List<ClientView> findActiveClientsAfter(Long afterId, Pageable pageable);
+
+  /**
+   * Finds the active clients with the given IDs, in no particular order.
+   *
+   * @param clientIds the IDs of the clients to find
+   * @return the active clients among the given IDs
+   */
+  List<ClientView> findActiveClientsById(Collection<Long> clientIds);
+}
@@ -0,0 +1,61 @@
+package io.github.antoniomayk.dxc.clients.repository;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * {@link ClientViewRepository} mapping the selected columns straight from JDBC.
+ *
+ * <p>Rows are not loaded through Hibernate: even as constructor expressions, its per-row extraction
+ * allocates several times the size of the views, while the views are never attached to the
+ * persistence context anyway. The queries join the transaction of the caller, if any.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+class ClientViewRepositoryImpl implements ClientViewRepository {
+  private static final String SELECT_SQL =
+      "SELECT id, full_name, email, phone_number, normalized_phone_number, created_by, created_at,"
+          + " modified_by, modified_at FROM clients";
+  // Ordering by both columns of idx_clients_deleted_at lets H2 read the page in index order and
+  // stop after it; with ORDER BY id alone it sorts every following row first.
+  private static final String AFTER_SQL =
+      SELECT_SQL
+          + " WHERE deleted_at IS NULL AND id > :afterId ORDER BY deleted_at, id LIMIT :limit";
+  private static final String BY_ID_SQL = SELECT_SQL + " WHERE id IN (:ids) AND deleted_at IS NULL";
+  private static final RowMapper<ClientView> ROW_MAPPER =
+      (resultSet, rowNum) ->
+          new ClientView(
+              resultSet.getLong(1),
+              resultSet.getString(2),
+              resultSet.getString(3),
+              resultSet.getString(4),
+              resultSet.getString(5),
+              resultSet.getString(6),
+              resultSet.getObject(7, LocalDateTime.class),
+              resultSet.getString(8),
+              resultSet.getObject(9, LocalDateTime.class));
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  ClientViewRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<ClientView> findActiveClientsAfter(Long afterId, Pageable pageable) {
+    return jdbcTemplate.query(
+        AFTER_SQL, Map.of("afterId", afterId, "limit", pageable.getPageSize()), ROW_MAPPER);
+  }
+
+  @Override
+  public List<ClientView> findActiveClientsById(Collection<Long> clientIds) {
+    return jdbcTemplate.query(BY_ID_SQL, Map.of("ids", clientIds), ROW_MAPPER);
+  }
+}
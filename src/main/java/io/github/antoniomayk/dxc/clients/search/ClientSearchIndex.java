@@ -0,0 +1,346 @@
+package io.github.antoniomayk.dxc.clients.search;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory trigram index for prefix and substring search over the full name and email of active
+ * clients.
+ *
+ * <p>Every indexed client keeps its lower-cased searchable text, and each trigram of that text maps
+ * to the IDs of the clients containing it. A query looks up the posting list of each of its
+ * trigrams, walks only the shortest one and checks each candidate against its text, so its cost
+ * depends on the selectivity of the query rather than on the number of clients. Queries shorter
+ * than a trigram fall back to scanning the texts until {@code limit} matches are found.
+ *
+ * <p>The index is rebuilt from the database at startup and kept up to date through {@link
+ * ClientChangedEvent}s. A rebuild fills a new index on the side, reading the clients in keyset
+ * pages, and replaces the current one once it is complete, so searches keep their results
+ * meanwhile. Posting lists are appended to, so readers never lock: the entries that an updated or
+ * deleted client no longer matches are only counted as dead, and filtered out when the candidate
+ * text is checked. A list is compacted once more than half of its entries are dead, so its size
+ * stays proportional to the clients containing its trigram.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class ClientSearchIndex {
+  private static final Logger logger = LoggerFactory.getLogger(ClientSearchIndex.class);
+
+  private static final int GRAM_LENGTH = 3;
+  private static final char FIELD_SEPARATOR = '\n';
+  private static final int PAGE_SIZE = 1_000;
+
+  // Index read by searches, replaced as a whole once a rebuild completes.
+  private volatile Generation current = new Generation();
+  // Index being rebuilt, which also receives the changes made meanwhile, or null outside of
+  // rebuilds.
+  private volatile Generation next;
+
+  private final ClientRepository clientRepository;
+
+  ClientSearchIndex(ClientRepository clientRepository) {
+    this.clientRepository = clientRepository;
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static String text(String fullName, String email) {
+    return normalize(fullName) + FIELD_SEPARATOR + normalize(email);
+  }
+
+  /**
+   * Rebuilds the index from all active clients in the database, read in keyset pages of {@value
+   * #PAGE_SIZE} like the export. The current index keeps answering searches until the rebuilt one
+   * replaces it. Changes received while the index is being rebuilt take precedence over the rows
+   * read by the rebuild: updated clients keep their new text, and clients removed meanwhile are not
+   * added back.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    logger.info("Rebuilding client search index");
+    final long start = System.nanoTime();
+    final var rebuilt = new Generation();
+    rebuilt.tombstones = ConcurrentHashMap.newKeySet();
+    next = rebuilt;
+
+    try {
+      var count = 0L;
+      var afterId = 0L;
+      List<ClientView> page;
+      do {
+        page = clientRepository.findActiveClientsAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+        for (final var client : page) {
+          rebuilt.addIfAbsent(client.getId(), text(client.getFullName(), client.getEmail()));
+        }
+        count += page.size();
+        if (!page.isEmpty()) {
+          afterId = page.get(page.size() - 1).getId();
+        }
+      } while (page.size() == PAGE_SIZE);
+      // Published before the rebuilt index stops being the next one, see apply.
+      current = rebuilt;
+      logger.info("Indexed {} clients in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    } finally {
+      next = null;
+      rebuilt.tombstones = null;
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  void onClientChanged(ClientChangedEvent event) {
+    if (event.getType() == ClientChangedEvent.Type.DELETED) {
+      remove(event.getClientId());
+    } else {
+      add(event.getClient());
+    }
+  }
+
+  /**
+   * Adds a client to the index, or replaces its indexed text.
+   *
+   * @param client the client to index
+   */
+  public void add(Client client) {
+    final var text = text(client.getFullName(), client.getEmail());
+    apply(generation -> generation.add(client.getId(), text));
+  }
+
+  /**
+   * Removes a client from the index.
+   *
+   * @param clientId the ID of the client to remove
+   */
+  public void remove(Long clientId) {
+    apply(generation -> generation.remove(clientId));
+  }
+
+  private void apply(Consumer<Generation> change) {
+    // The next index is read first: once it is seen cleared, the current one is the rebuilt index.
+    final var rebuilt = next;
+    final var live = current;
+    change.accept(live);
+    if (rebuilt != null && rebuilt != live) {
+      change.accept(rebuilt);
+    }
+  }
+
+  /**
+   * Returns the number of indexed clients.
+   *
+   * @return the number of indexed clients
+   */
+  public int size() {
+    return current.texts.size();
+  }
+
+  /**
+   * Finds the clients whose full name or email contains the given query, ignoring case.
+   *
+   * @param query the text to look for
+   * @param limit the maximum number of client IDs to return
+   * @return the IDs of up to {@code limit} matching clients, roughly in insertion order
+   */
+  public List<Long> search(String query, int limit) {
+    final var generation = current;
+    final var texts = generation.texts;
+    final var postings = generation.postings;
+    final var needle = normalize(query);
+    final var matches = new LinkedHashSet<Long>();
+    if (needle.isEmpty()) {
+      return new ArrayList<>(matches);
+    }
+
+    if (needle.length() < GRAM_LENGTH) {
+      for (final var entry : texts.entrySet()) {
+        if (matches.size() >= limit) {
+          break;
+        }
+        if (entry.getValue().contains(needle)) {
+          matches.add(entry.getKey());
+        }
+      }
+      return new ArrayList<>(matches);
+    }
+
+    PostingList shortest = null;
+    for (final var gram : grams(needle)) {
+      final var posting = postings.get(gram);
+      if (posting == null) {
+        return new ArrayList<>(matches);
+      }
+      if (shortest == null || posting.size() < shortest.size()) {
+        shortest = posting;
+      }
+    }
+
+    final var candidates = shortest.snapshot();
+    for (var i = 0; i < candidates.length && matches.size() < limit; i++) {
+      final var text = texts.get(candidates[i]);
+      if (text != null && text.contains(needle)) {
+        matches.add(candidates[i]);
+      }
+    }
+    return new ArrayList<>(matches);
+  }
+
+  /**
+   * Returns the number of entries in the posting list of a trigram, dead ones included.
+   *
+   * @param gram the trigram
+   * @return the number of client IDs listed for the trigram
+   */
+  int postingSize(String gram) {
+    final var posting = current.postings.get(gram);
+    return posting == null ? 0 : posting.size();
+  }
+
+  private static Set<String> grams(String text) {
+    final var grams = new LinkedHashSet<String>();
+    for (var i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+      final var gram = text.substring(i, i + GRAM_LENGTH);
+      if (gram.indexOf(FIELD_SEPARATOR) < 0) {
+        grams.add(gram);
+      }
+    }
+    return grams;
+  }
+
+  /** Texts and posting lists of the indexed clients. */
+  private static final class Generation {
+    private final Map<Long, String> texts = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    // IDs of the clients removed while this index is being rebuilt, or null once it is complete.
+    private volatile Set<Long> tombstones;
+
+    void add(Long clientId, String text) {
+      final var previous = texts.put(clientId, text);
+      if (text.equals(previous)) {
+        return;
+      }
+      final var grams = grams(text);
+      final Set<String> previousGrams = previous == null ? Set.of() : grams(previous);
+      for (final var gram : grams) {
+        if (!previousGrams.contains(gram)) {
+          postings.computeIfAbsent(gram, key -> new PostingList()).add(clientId);
+        }
+      }
+      discard(previousGrams, grams);
+    }
+
+    void addIfAbsent(Long clientId, String text) {
+      final var removed = tombstones;
+      // Checked and inserted atomically, so a concurrent remove either sees the text or is seen.
+      final var current =
+          texts.computeIfAbsent(clientId, key -> removed.contains(key) ? null : text);
+      if (current != text) {
+        return;
+      }
+      for (final var gram : grams(text)) {
+        postings.computeIfAbsent(gram, key -> new PostingList()).add(clientId);
+      }
+    }
+
+    void remove(Long clientId) {
+      final var removed = tombstones;
+      if (removed != null) {
+        removed.add(clientId);
+      }
+      final var previous = texts.remove(clientId);
+      if (previous != null) {
+        discard(grams(previous), Set.of());
+      }
+    }
+
+    private void discard(Set<String> grams, Set<String> kept) {
+      for (final var gram : grams) {
+        final var posting = postings.get(gram);
+        if (posting != null && !kept.contains(gram)) {
+          posting.discard(
+              id -> {
+                final var text = texts.get(id);
+                return text != null && text.contains(gram);
+              });
+        }
+      }
+    }
+  }
+
+  /**
+   * List of client IDs, appended to and compacted by serialized writers. Readers see a consistent
+   * prefix of the list without locking: the array is always replaced before the size is published,
+   * and a reader racing a compaction may only see trailing zeros, which match no client.
+   */
+  private static final class PostingList {
+    private volatile long[] ids = new long[4];
+    private volatile int size;
+    private int dead;
+
+    synchronized void add(long id) {
+      if (size > 0 && ids[size - 1] == id) {
+        return;
+      }
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size] = id;
+      size++;
+    }
+
+    /**
+     * Counts one entry as dead, and compacts the list once more than half of its entries are.
+     *
+     * @param live tells whether a listed client still contains the trigram of the list
+     */
+    synchronized void discard(LongPredicate live) {
+      dead++;
+      if (dead * 2 <= size) {
+        return;
+      }
+      final var current = ids;
+      final var compacted = new long[size];
+      final var seen = new HashSet<Long>();
+      var kept = 0;
+      for (var i = 0; i < size; i++) {
+        if (live.test(current[i]) && seen.add(current[i])) {
+          compacted[kept++] = current[i];
+        }
+      }
+      ids = Arrays.copyOf(compacted, Math.max(kept, 4));
+      size = kept;
+      dead = 0;
+    }
+
+    int size() {
+      return size;
+    }
+
+    long[] snapshot() {
+      final var currentSize = size;
+      return Arrays.copyOf(ids, currentSize);
+    }
+  }
+}
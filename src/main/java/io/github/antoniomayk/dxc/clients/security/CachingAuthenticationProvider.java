@@ -0,0 +1,111 @@
+package io.github.antoniomayk.dxc.clients.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collection;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * {@link AuthenticationProvider} that remembers recently verified username and password pairs, so
+ * clients that keep using HTTP Basic only pay for the password hashing of the delegate once per
+ * {@code clients.security.credentials-cache.expire-after-write}.
+ *
+ * <p>Passwords are never stored. Each entry keeps an HMAC-SHA256 digest of the verified password,
+ * keyed by a secret generated at startup, and presented passwords are compared against it in
+ * constant time. A mismatch always falls back to the delegate.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+  private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+  private final AuthenticationProvider delegate;
+  private final Cache<String, VerifiedCredentials> cache;
+  private final SecretKeySpec digestKey;
+
+  /**
+   * Constructs a new CachingAuthenticationProvider.
+   *
+   * @param delegate the provider that verifies the credentials missing from the cache
+   * @param properties the size and expiration of the cache
+   */
+  public CachingAuthenticationProvider(
+      AuthenticationProvider delegate, ClientProperties.CredentialsCache properties) {
+    this.delegate = delegate;
+    this.cache =
+        properties.getMaximumSize() > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .build()
+            : null;
+
+    final var secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    this.digestKey = new SecretKeySpec(secret, DIGEST_ALGORITHM);
+  }
+
+  @Override
+  public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+    if (cache == null
+        || !(authentication instanceof UsernamePasswordAuthenticationToken)
+        || !(authentication.getCredentials() instanceof String)) {
+      return delegate.authenticate(authentication);
+    }
+
+    final var username = authentication.getName();
+    final var digest = digest((String) authentication.getCredentials());
+    final var cached = cache.getIfPresent(username);
+    if (cached != null && MessageDigest.isEqual(cached.digest, digest)) {
+      return new UsernamePasswordAuthenticationToken(cached.principal, null, cached.authorities);
+    }
+
+    final var result = delegate.authenticate(authentication);
+    if (result != null && result.isAuthenticated()) {
+      cache.put(
+          username,
+          new VerifiedCredentials(digest, result.getPrincipal(), result.getAuthorities()));
+    }
+    return result;
+  }
+
+  @Override
+  public boolean supports(Class<?> authentication) {
+    return delegate.supports(authentication);
+  }
+
+  private byte[] digest(String password) {
+    try {
+      final var mac = Mac.getInstance(DIGEST_ALGORITHM);
+      mac.init(digestKey);
+      return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC-SHA256 is not available", e);
+    }
+  }
+
+  private static final class VerifiedCredentials {
+    private final byte[] digest;
+    private final Object principal;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    VerifiedCredentials(
+        byte[] digest, Object principal, Collection<? extends GrantedAuthority> authorities) {
+      this.digest = digest;
+      this.principal = principal;
+      this.authorities = authorities;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.antoniomayk.dxc.clients.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.TokenResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import javax.crypto.SecretKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues short-lived access tokens, signed with HMAC-SHA256, for authenticated users.
+ *
+ * <p>The tokens are JWTs verified by the resource server support of Spring Security with the same
+ * key, so authenticating a request with a token needs neither password hashing nor a session
+ * lookup.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Service
+public class TokenService {
+  private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+  /** Scope granted to every token. */
+  public static final String SCOPE = "clients";
+
+  private final JWSSigner signer;
+  private final Duration ttl;
+
+  TokenService(SecretKey tokenSigningKey, ClientProperties clientProperties) {
+    try {
+      this.signer = new MACSigner(tokenSigningKey);
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Invalid token signing key: " + e.getMessage(), e);
+    }
+    this.ttl = clientProperties.getSecurity().getToken().getTtl();
+  }
+
+  /**
+   * Issues an access token for the given user.
+   *
+   * @param authentication the authenticated user
+   * @return the signed token and its time to live
+   */
+  public TokenResponse issueToken(Authentication authentication) {
+    final var issuedAt = Instant.now();
+    final var claims =
+        new JWTClaimsSet.Builder()
+            .subject(authentication.getName())
+            .issueTime(Date.from(issuedAt))
+            .expirationTime(Date.from(issuedAt.plus(ttl)))
+            .claim("scope", SCOPE)
+            .build();
+    final var token = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+    try {
+      token.sign(signer);
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Could not sign access token", e);
+    }
+
+    logger.info("Issued access token for user: {}", authentication.getName());
+    return new TokenResponse(token.serialize(), ttl.toSeconds());
+  }
+}
@@ -0,0 +1,180 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves clients deleted longer ago than {@code clients.archive.retention} from the {@code clients}
+ * table to {@code clients_archive}, so the size of the active table, and the cost of its queries,
+ * follows the number of live clients.
+ *
+ * <p>Every {@code clients.archive.interval}, eligible clients are moved in chunks of {@code
+ * clients.archive.chunk-size} rows, in the order of the {@code (deleted_at, id)} index. Each chunk
+ * is copied and deleted in its own short transaction, so locks are only held on a few rows at a
+ * time, and the next chunk starts where the previous one ended as the moved rows are gone. Between
+ * chunks, the archiver sleeps as needed to stay under {@code clients.archive.max-rows-per-second}.
+ *
+ * <p>Archived clients are not announced as {@link
+ * io.github.antoniomayk.dxc.clients.event.ClientChangedEvent}s, as their deletion already was, and
+ * are still reported as deleted by {@link ClientService}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Service
+public class ClientArchiver implements DisposableBean {
+  private static final Logger logger = LoggerFactory.getLogger(ClientArchiver.class);
+
+  private static final String SELECT_SQL =
+      "SELECT id FROM clients WHERE deleted_at < :cutoff ORDER BY deleted_at, id LIMIT :limit";
+  private static final String COPY_SQL =
+      "INSERT INTO clients_archive (id, full_name, email, phone_number, normalized_phone_number,"
+          + " deleted_at, created_by, created_at, modified_by, modified_at, archived_at)"
+          + " SELECT id, full_name, email, phone_number, normalized_phone_number, deleted_at,"
+          + " created_by, created_at, modified_by, modified_at, CURRENT_TIMESTAMP"
+          + " FROM clients WHERE id IN (:ids)";
+  private static final String DELETE_SQL = "DELETE FROM clients WHERE id IN (:ids)";
+  private static final String OLDEST_SQL =
+      "SELECT MIN(deleted_at) FROM clients WHERE deleted_at IS NOT NULL";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ClientProperties.Archive properties;
+  private final Counter archivedRows;
+  private final Timer chunkTimer;
+  private final AtomicLong lagSeconds = new AtomicLong();
+
+  private ScheduledExecutorService scheduler;
+
+  ClientArchiver(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      ClientProperties clientProperties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.properties = clientProperties.getArchive();
+    this.archivedRows =
+        Counter.builder("clients.archive.rows")
+            .description("Number of deleted clients moved to the archive")
+            .register(meterRegistry);
+    this.chunkTimer =
+        Timer.builder("clients.archive.chunk")
+            .description("Time spent moving a chunk of deleted clients to the archive")
+            .register(meterRegistry);
+    Gauge.builder("clients.archive.lag", lagSeconds, AtomicLong::get)
+        .description(
+            "Seconds since the oldest deleted client still in the clients table became eligible"
+                + " for archival, as of the last run")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    final var interval = properties.getInterval().toNanos();
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("clients-archiver-"));
+    scheduler.scheduleWithFixedDelay(this::run, interval, interval, TimeUnit.NANOSECONDS);
+  }
+
+  private void run() {
+    try {
+      archive(LocalDateTime.now().minus(properties.getRetention()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      logger.error("Could not archive deleted clients", e);
+    }
+  }
+
+  /**
+   * Moves the clients deleted before the given time to the archive.
+   *
+   * @param cutoff the time before which deleted clients are archived
+   * @return the number of clients archived
+   * @throws InterruptedException if interrupted while throttled, after the last chunk committed
+   */
+  public synchronized long archive(LocalDateTime cutoff) throws InterruptedException {
+    final var start = System.nanoTime();
+    final var maxRowsPerSecond = Math.max(properties.getMaxRowsPerSecond(), 1);
+    final var chunkSize = Math.max(properties.getChunkSize(), 1);
+    var archived = 0L;
+    int moved;
+    do {
+      moved = chunkTimer.record(() -> archiveChunk(cutoff, chunkSize));
+      archived += moved;
+      archivedRows.increment(moved);
+
+      final var ahead = archived * 1_000_000_000 / maxRowsPerSecond - (System.nanoTime() - start);
+      if (moved == chunkSize && ahead > 0) {
+        TimeUnit.NANOSECONDS.sleep(ahead);
+      }
+    } while (moved == chunkSize);
+
+    final var oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Map.of(), Timestamp.class);
+    lagSeconds.set(
+        oldest == null
+            ? 0
+            : Math.max(Duration.between(oldest.toLocalDateTime(), cutoff).toSeconds(), 0));
+    if (archived > 0) {
+      logger.info(
+          "Archived {} clients deleted before {} in {} ms",
+          archived,
+          cutoff,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+    return archived;
+  }
+
+  private int archiveChunk(LocalDateTime cutoff, int chunkSize) {
+    final Integer moved =
+        transactionTemplate.execute(
+            status -> {
+              final List<Long> ids =
+                  jdbcTemplate.queryForList(
+                      SELECT_SQL,
+                      Map.of("cutoff", Timestamp.valueOf(cutoff), "limit", chunkSize),
+                      Long.class);
+              if (ids.isEmpty()) {
+                return 0;
+              }
+              final var copied = jdbcTemplate.update(COPY_SQL, Map.of("ids", ids));
+              final var deleted = jdbcTemplate.update(DELETE_SQL, Map.of("ids", ids));
+              if (copied != ids.size() || deleted != ids.size()) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Archived %d and deleted %d of %d clients", copied, deleted, ids.size()));
+              }
+              return ids.size();
+            });
+    return moved != null ? moved : 0;
+  }
+
+  @Override
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import com.github.javafaker.Faker;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.GenerationReport;
+import io.github.antoniomayk.dxc.clients.exception.GenerationInProgressException;
+import io.github.antoniomayk.dxc.clients.validator.PhoneNumberValidator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates synthetic clients for load testing.
+ *
+ * <p>Clients are generated in parallel, each thread with its own {@link Faker} seeded from the
+ * requested seed, and handed in chunks of {@code clients.generator.batch-size} rows through a
+ * bounded queue to the calling thread, which inserts each chunk with a single JDBC batch. At most
+ * two chunks per thread wait in the queue, so memory stays flat whatever the number of rows.
+ *
+ * <p>Rows are inserted with plain JDBC, bypassing {@link ClientService}, so they are not audited,
+ * journaled nor announced as {@link io.github.antoniomayk.dxc.clients.event.ClientChangedEvent}s.
+ * Only one generation can run at a time.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Service
+public class ClientDataGenerator {
+  private static final Logger logger = LoggerFactory.getLogger(ClientDataGenerator.class);
+
+  private static final String INSERT_SQL =
+      "INSERT INTO clients (full_name, email, phone_number, normalized_phone_number)"
+          + " VALUES (?, ?, ?, ?)";
+  private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ClientProperties clientProperties;
+  private final MessageSource messageSource;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  ClientDataGenerator(
+      JdbcTemplate jdbcTemplate, ClientProperties clientProperties, MessageSource messageSource) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clientProperties = clientProperties;
+    this.messageSource = messageSource;
+  }
+
+  /**
+   * Generates and inserts clients.
+   *
+   * @param rows the number of clients to insert
+   * @param seed the seed of the generated data, or {@code null} for a random seed
+   * @param threads the number of generating threads, or {@code 0} for one per available processor
+   * @return the number of clients inserted, the seed used and the insertion rate
+   * @throws GenerationInProgressException if another generation is running
+   */
+  public GenerationReport generate(long rows, Long seed, int threads) {
+    if (!running.compareAndSet(false, true)) {
+      throw new GenerationInProgressException(
+          messageSource.getMessage(
+              "error.GenerationInProgressException", null, LocaleContextHolder.getLocale()));
+    }
+    try {
+      final var actualSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+      final var actualThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+      return generateRows(rows, actualSeed, actualThreads);
+    } finally {
+      running.set(false);
+    }
+  }
+
+  private GenerationReport generateRows(long rows, long seed, int threads) {
+    logger.info("Generating {} clients on {} threads with seed {}", rows, threads, seed);
+    final long start = System.nanoTime();
+    final var batchSize = clientProperties.getGenerator().getBatchSize();
+    final var queue = new ArrayBlockingQueue<List<Object[]>>(2 * threads);
+    final var producers =
+        Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("clients-generator-"));
+    final var futures = new ArrayList<Future<?>>(threads);
+    for (var i = 0; i < threads; i++) {
+      final var share = rows / threads + (i < rows % threads ? 1 : 0);
+      final var random = new Random(seed + i);
+      futures.add(producers.submit(() -> produce(share, random, batchSize, queue)));
+    }
+
+    var inserted = 0L;
+    var nextProgress = start + PROGRESS_INTERVAL_NANOS;
+    try {
+      while (inserted < rows) {
+        final var chunk = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (chunk == null) {
+          checkProducers(futures);
+          continue;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunk);
+        inserted += chunk.size();
+
+        if (System.nanoTime() > nextProgress) {
+          nextProgress += PROGRESS_INTERVAL_NANOS;
+          logger.info(
+              "Generated {} of {} clients ({} rows/s)",
+              inserted,
+              rows,
+              inserted * 1_000_000_000 / (System.nanoTime() - start));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while generating clients", e);
+    } finally {
+      producers.shutdownNow();
+    }
+
+    final var report =
+        new GenerationReport(
+            inserted, seed, threads, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    logger.info("Generated {} clients ({} rows/s)", inserted, report.getRowsPerSecond());
+    return report;
+  }
+
+  private static void produce(
+      long rows, Random random, int batchSize, BlockingQueue<List<Object[]>> queue) {
+    final var faker = new Faker(random);
+    var chunk = new ArrayList<Object[]>(batchSize);
+    try {
+      for (var i = 0L; i < rows; i++) {
+        final var phoneNumber = faker.phoneNumber().cellPhone();
+        chunk.add(
+            new Object[] {
+              faker.name().fullName(),
+              faker.internet().emailAddress(),
+              phoneNumber,
+              PhoneNumberValidator.parseE164(phoneNumber).orElse(null)
+            });
+        if (chunk.size() == batchSize || i == rows - 1) {
+          queue.put(chunk);
+          chunk = new ArrayList<>(batchSize);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void checkProducers(List<Future<?>> futures) throws InterruptedException {
+    for (final var future : futures) {
+      if (future.isDone()) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Could not generate clients", e.getCause());
+        }
+      }
+    }
+  }
+}
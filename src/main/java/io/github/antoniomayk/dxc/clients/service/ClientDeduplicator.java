@@ -0,0 +1,478 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.DuplicateGroup;
+import io.github.antoniomayk.dxc.clients.dto.DuplicateGroup.Signal;
+import io.github.antoniomayk.dxc.clients.validator.PhoneNumberValidator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds active clients that are likely to be the same person registered several times.
+ *
+ * <p>Comparing every client with every other one would take quadratic time, so clients are first
+ * grouped into blocks by three keys: their email in lower case, their phone number in E.164 format,
+ * as normalized by {@link PhoneNumberValidator} when they were saved, and a Double Metaphone key of
+ * their first and last names. Only clients sharing a block are compared, which keeps the work
+ * proportional to the number of clients as long as blocks stay small. Blocks larger than {@code
+ * clients.dedup.max-block-size} are skipped.
+ *
+ * <p>Blocks are compared in parallel on a fork-join pool of {@code clients.dedup.parallelism}
+ * threads. Each pair of clients is scored by the keys it shares, and pairs scoring at least {@code
+ * clients.dedup.threshold} are merged into groups with a union-find, so duplicates found through
+ * different keys end up in the same group. The groups are then handed out one at a time, so only
+ * the members of the group being written are held besides the keys of the clients.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Service
+public class ClientDeduplicator {
+  private static final Logger logger = LoggerFactory.getLogger(ClientDeduplicator.class);
+
+  // Ordered like the (deleted_at, id) index, so every page is read from it without a sort.
+  private static final String SELECT_SQL =
+      "SELECT id, full_name, email, phone_number, normalized_phone_number FROM clients"
+          + " WHERE deleted_at IS NULL AND id > ? ORDER BY deleted_at, id LIMIT ?";
+  private static final Signal[] SIGNALS = Signal.values();
+  private static final double[] WEIGHTS = {0.5, 0.4, 0.3};
+  private static final int PAGE_SIZE = 10_000;
+  private static final int BLOCKS_PER_TASK = 256;
+  private static final Pattern NON_LETTERS = Pattern.compile("[^a-z]+");
+  private static final Pattern DIGITS = Pattern.compile("\\D+");
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Set<String> TITLES =
+      Set.of("mr", "mrs", "ms", "miss", "dr", "jr", "sr", "ii", "iii", "iv", "md", "phd", "dds");
+  private static final DoubleMetaphone doubleMetaphone = new DoubleMetaphone();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectWriter groupWriter;
+  private final ClientProperties.Dedup properties;
+
+  ClientDeduplicator(
+      JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ClientProperties clientProperties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.groupWriter =
+        objectMapper
+            .writerFor(DuplicateGroup.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.properties = clientProperties.getDedup();
+  }
+
+  /** Active client with its blocking keys, indexed by {@link Signal#ordinal()}. */
+  private static final class Candidate {
+    private final long id;
+    private final String[] keys = new String[SIGNALS.length];
+
+    /** Computes the keys of a row of {@link #SELECT_SQL}. */
+    private Candidate(Object[] row) {
+      this.id = (Long) row[0];
+      keys[Signal.NAME.ordinal()] = nameKey((String) row[1]);
+      keys[Signal.EMAIL.ordinal()] = emailKey((String) row[2]);
+      keys[Signal.PHONE.ordinal()] = phoneKey((String) row[3], (String) row[4]);
+    }
+  }
+
+  /** Clients sharing a key. */
+  private static final class Block {
+    private final Signal signal;
+    private int[] members = new int[2];
+    private int size;
+
+    private Block(Signal signal) {
+      this.signal = signal;
+    }
+
+    private void add(int member) {
+      if (size == members.length) {
+        members = Arrays.copyOf(members, size * 2);
+      }
+      members[size++] = member;
+    }
+  }
+
+  /** Receiver of the groups of duplicates, as they are found. */
+  @FunctionalInterface
+  private interface GroupConsumer {
+    void accept(DuplicateGroup group) throws IOException;
+  }
+
+  /** Two clients scoring at least the threshold. */
+  private static final class Match {
+    private final int first;
+    private final int second;
+    private final double score;
+    private final int signals;
+
+    private Match(int first, int second, double score, int signals) {
+      this.first = first;
+      this.second = second;
+      this.score = score;
+      this.signals = signals;
+    }
+  }
+
+  static String emailKey(String email) {
+    if (email == null || email.isBlank()) {
+      return null;
+    }
+    return email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns the digits of the phone number in E.164 format, as normalized by {@link
+   * PhoneNumberValidator} when the client was saved, or of the raw phone number when it could not
+   * be normalized, so numbers missing the plus sign still match.
+   */
+  static String phoneKey(String phoneNumber, String normalizedPhoneNumber) {
+    if (normalizedPhoneNumber != null) {
+      return normalizedPhoneNumber.substring(1);
+    }
+    if (phoneNumber == null) {
+      return null;
+    }
+    final var digits = DIGITS.matcher(phoneNumber).replaceAll("");
+    return digits.length() >= 7 ? digits : null;
+  }
+
+  static String nameKey(String fullName) {
+    if (fullName == null) {
+      return null;
+    }
+    final var letters =
+        MARKS
+            .matcher(Normalizer.normalize(fullName.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+            .replaceAll("");
+    final var names =
+        NON_LETTERS
+            .splitAsStream(letters)
+            .filter(name -> name.length() > 1 && !TITLES.contains(name))
+            .collect(Collectors.toList());
+    if (names.isEmpty()) {
+      return null;
+    }
+    final var first = doubleMetaphone.doubleMetaphone(names.get(0));
+    final var last = doubleMetaphone.doubleMetaphone(names.get(names.size() - 1));
+    // Sorted, so that the same names in a different order share the key.
+    return first.compareTo(last) <= 0 ? first + ' ' + last : last + ' ' + first;
+  }
+
+  /**
+   * Finds the groups of duplicate clients and writes them to the given output stream as
+   * newline-delimited JSON (NDJSON), one {@link DuplicateGroup} per line, ordered by their first
+   * client ID.
+   *
+   * @param outputStream the stream to write the groups to. It is not closed by this method.
+   * @return the number of groups written
+   * @throws IOException if writing to the output stream fails
+   */
+  public long writeDuplicateGroups(OutputStream outputStream) throws IOException {
+    try (var generator = groupWriter.createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      return findDuplicateGroups(
+          group -> {
+            groupWriter.writeValue(generator, group);
+            generator.writeRaw('\n');
+          });
+    }
+  }
+
+  /**
+   * Finds the groups of duplicate clients.
+   *
+   * @return the groups of duplicate clients, ordered by their first client ID
+   */
+  public List<DuplicateGroup> findDuplicateGroups() {
+    final var groups = new ArrayList<DuplicateGroup>();
+    try {
+      findDuplicateGroups(groups::add);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not collect duplicate clients", e);
+    }
+    return groups;
+  }
+
+  private long findDuplicateGroups(GroupConsumer consumer) throws IOException {
+    final var start = System.nanoTime();
+    final var parallelism =
+        properties.getParallelism() > 0
+            ? properties.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+    final var pool =
+        new ForkJoinPool(
+            parallelism,
+            factory -> {
+              final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(factory);
+              thread.setName("clients-dedup-" + thread.getPoolIndex());
+              return thread;
+            },
+            null,
+            false);
+    try {
+      final var candidates = load(pool, parallelism);
+      final var skippedKeys = new ArrayList<Set<String>>();
+      final var blocks = block(candidates, skippedKeys);
+      final var matches =
+          pool.submit(new ScoreTask(candidates, blocks, skippedKeys, 0, blocks.size())).get();
+      final var groups = group(candidates, matches, consumer);
+      logger.info(
+          "Found {} groups of duplicates among {} clients in {} ms",
+          groups,
+          candidates.size(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return groups;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while finding duplicate clients", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Could not find duplicate clients", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Reads the active clients in pages of {@value #PAGE_SIZE}, following the ID of the last client
+   * of the previous page, and computes the keys of each page on the pool while the next one is
+   * read. At most two pages per thread wait for their keys, so only the keys of the clients, not
+   * their rows, are held in memory.
+   */
+  private List<Candidate> load(ForkJoinPool pool, int parallelism) {
+    final var candidates = new ArrayList<Candidate>();
+    final var pending = new ArrayDeque<ForkJoinTask<List<Candidate>>>();
+    var afterId = 0L;
+    List<Object[]> page;
+    do {
+      page =
+          jdbcTemplate.query(
+              SELECT_SQL,
+              (resultSet, rowNum) ->
+                  new Object[] {
+                    resultSet.getLong(1),
+                    resultSet.getString(2),
+                    resultSet.getString(3),
+                    resultSet.getString(4),
+                    resultSet.getString(5)
+                  },
+              afterId,
+              PAGE_SIZE);
+      if (!page.isEmpty()) {
+        afterId = (Long) page.get(page.size() - 1)[0];
+        final var rows = page;
+        pending.add(
+            pool.submit(() -> rows.stream().map(Candidate::new).collect(Collectors.toList())));
+      }
+      while (pending.size() > 2 * parallelism || (page.size() < PAGE_SIZE && !pending.isEmpty())) {
+        candidates.addAll(pending.poll().join());
+      }
+    } while (page.size() == PAGE_SIZE);
+    return candidates;
+  }
+
+  private List<Block> block(List<Candidate> candidates, List<Set<String>> skippedKeys) {
+    final var blocks = new ArrayList<Block>();
+    var skipped = 0;
+    for (final var signal : SIGNALS) {
+      final var skippedKeysOfSignal = new HashSet<String>();
+      skippedKeys.add(skippedKeysOfSignal);
+      final var blocksByKey = new HashMap<String, Block>();
+      for (var i = 0; i < candidates.size(); i++) {
+        final var key = candidates.get(i).keys[signal.ordinal()];
+        if (key != null) {
+          blocksByKey.computeIfAbsent(key, k -> new Block(signal)).add(i);
+        }
+      }
+      for (final var entry : blocksByKey.entrySet()) {
+        final var block = entry.getValue();
+        if (block.size > properties.getMaxBlockSize()) {
+          skippedKeysOfSignal.add(entry.getKey());
+          skipped++;
+        } else if (block.size > 1) {
+          blocks.add(block);
+        }
+      }
+    }
+    if (skipped > 0) {
+      logger.info(
+          "Skipped {} blocks of more than {} clients", skipped, properties.getMaxBlockSize());
+    }
+    return blocks;
+  }
+
+  /** Scores the pairs of clients of a range of blocks, splitting it until it is small enough. */
+  private final class ScoreTask extends RecursiveTask<List<Match>> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Candidate> candidates;
+    private final transient List<Block> blocks;
+    private final transient List<Set<String>> skippedKeys;
+    private final int from;
+    private final int to;
+
+    private ScoreTask(
+        List<Candidate> candidates,
+        List<Block> blocks,
+        List<Set<String>> skippedKeys,
+        int from,
+        int to) {
+      this.candidates = candidates;
+      this.blocks = blocks;
+      this.skippedKeys = skippedKeys;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected List<Match> compute() {
+      if (to - from > BLOCKS_PER_TASK) {
+        final var middle = (from + to) >>> 1;
+        final var right = new ScoreTask(candidates, blocks, skippedKeys, middle, to);
+        right.fork();
+        final var matches = new ScoreTask(candidates, blocks, skippedKeys, from, middle).compute();
+        matches.addAll(right.join());
+        return matches;
+      }
+
+      final var matches = new ArrayList<Match>();
+      for (var b = from; b < to; b++) {
+        final var block = blocks.get(b);
+        for (var i = 0; i < block.size; i++) {
+          final var first = candidates.get(block.members[i]);
+          for (var j = i + 1; j < block.size; j++) {
+            final var second = candidates.get(block.members[j]);
+            if (scoredEarlier(first, second, block.signal)) {
+              continue;
+            }
+            var score = 0.0;
+            var signals = 0;
+            for (final var signal : SIGNALS) {
+              final var key = first.keys[signal.ordinal()];
+              if (key != null && key.equals(second.keys[signal.ordinal()])) {
+                score += WEIGHTS[signal.ordinal()];
+                signals |= 1 << signal.ordinal();
+              }
+            }
+            if (score >= properties.getThreshold()) {
+              matches.add(new Match(block.members[i], block.members[j], score, signals));
+            }
+          }
+        }
+      }
+      return matches;
+    }
+
+    /**
+     * Tells whether the pair was already scored in the block of a preceding signal, so every pair
+     * is scored once even when it shares several keys.
+     */
+    private boolean scoredEarlier(Candidate first, Candidate second, Signal signal) {
+      for (var s = 0; s < signal.ordinal(); s++) {
+        final var key = first.keys[s];
+        if (key != null && key.equals(second.keys[s]) && !skippedKeys.get(s).contains(key)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Merges the matches into groups and hands them out in the order of their first client. The root
+   * of a group is its first client, and its members are linked in ID order through arrays, so a
+   * group is only built when it is handed out.
+   */
+  private static long group(List<Candidate> candidates, List<Match> matches, GroupConsumer consumer)
+      throws IOException {
+    final var parents = new int[candidates.size()];
+    Arrays.setAll(parents, i -> i);
+    for (final var match : matches) {
+      final var first = find(parents, match.first);
+      final var second = find(parents, match.second);
+      if (first != second) {
+        parents[Math.max(first, second)] = Math.min(first, second);
+      }
+    }
+
+    final var scores = new HashMap<Integer, Double>();
+    final var signals = new HashMap<Integer, Integer>();
+    for (final var match : matches) {
+      final var root = find(parents, match.first);
+      scores.merge(root, match.score, Math::max);
+      signals.merge(root, match.signals, (a, b) -> a | b);
+    }
+
+    final var next = new int[candidates.size()];
+    final var last = new int[candidates.size()];
+    for (var i = 0; i < candidates.size(); i++) {
+      final var root = find(parents, i);
+      next[i] = -1;
+      if (root == i) {
+        last[i] = i;
+      } else if (scores.containsKey(root)) {
+        next[last[root]] = i;
+        last[root] = i;
+      }
+    }
+
+    var groups = 0L;
+    for (var root = 0; root < candidates.size(); root++) {
+      if (parents[root] != root || !scores.containsKey(root)) {
+        continue;
+      }
+      final var clientIds = new ArrayList<Long>();
+      for (var member = root; member >= 0; member = next[member]) {
+        clientIds.add(candidates.get(member).id);
+      }
+      consumer.accept(
+          new DuplicateGroup(clientIds, scores.get(root), toSignals(signals.get(root))));
+      groups++;
+    }
+    return groups;
+  }
+
+  private static int find(int[] parents, int member) {
+    var root = member;
+    while (parents[root] != root) {
+      parents[root] = parents[parents[root]];
+      root = parents[root];
+    }
+    return root;
+  }
+
+  private static Set<Signal> toSignals(int mask) {
+    final var signals = EnumSet.noneOf(Signal.class);
+    for (final var signal : SIGNALS) {
+      if ((mask & 1 << signal.ordinal()) != 0) {
+        signals.add(signal);
+      }
+    }
+    return signals;
+  }
+}
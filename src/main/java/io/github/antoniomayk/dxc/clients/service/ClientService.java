@@ -1,18 +1,54 @@
 package io.github.antoniomayk.dxc.clients.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.antoniomayk.dxc.clients.config.AuditConfig;
+import io.github.antoniomayk.dxc.clients.config.CacheConfig;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.BulkItemResult;
 import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.dto.ClientPage;
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
 import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
 import io.github.antoniomayk.dxc.clients.exception.ClientDeletedException;
 import io.github.antoniomayk.dxc.clients.exception.ClientNotFoundException;
+import io.github.antoniomayk.dxc.clients.exception.InvalidCursorException;
 import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
-import java.util.Collection;
+import io.github.antoniomayk.dxc.clients.search.ClientSearchIndex;
+import io.github.antoniomayk.dxc.clients.validator.PhoneNumberValidator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for managing client operations.
@@ -23,71 +59,371 @@ import org.springframework.stereotype.Service;
 @Service
 public class ClientService {
   private static final Logger logger = LoggerFactory.getLogger(ClientService.class);
+  private static final int EXPORT_PAGE_SIZE = 1_000;
 
   private final ClientRepository clientRepository;
   private final Validator validator;
   private final MessageSource messageSource;
+  private final ObjectWriter exportWriter;
+  private final EntityManager entityManager;
+  private final ClientProperties clientProperties;
+  private final AuditorAware<String> auditorAware;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ClientSearchIndex searchIndex;
+  private final MeterRegistry meterRegistry;
+  private final Timer validValidationTimer;
+  private final Timer invalidValidationTimer;
+  private final DistributionSummary pageResultsSummary;
+  private final DistributionSummary searchResultsSummary;
+  private final DistributionSummary exportResultsSummary;
 
   ClientService(
-      ClientRepository clientRepository, Validator validator, MessageSource messageSource) {
+      ClientRepository clientRepository,
+      Validator validator,
+      MessageSource messageSource,
+      ObjectMapper objectMapper,
+      EntityManager entityManager,
+      ClientProperties clientProperties,
+      AuditorAware<String> auditorAware,
+      ApplicationEventPublisher eventPublisher,
+      ClientSearchIndex searchIndex,
+      MeterRegistry meterRegistry) {
     this.clientRepository = clientRepository;
     this.validator = validator;
     this.messageSource = messageSource;
+    this.exportWriter =
+        objectMapper
+            .writerFor(ClientView.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.entityManager = entityManager;
+    this.clientProperties = clientProperties;
+    this.auditorAware = auditorAware;
+    this.eventPublisher = eventPublisher;
+    this.searchIndex = searchIndex;
+    this.meterRegistry = meterRegistry;
+    this.validValidationTimer = validationTimer("valid");
+    this.invalidValidationTimer = validationTimer("invalid");
+    this.pageResultsSummary = resultsSummary("page");
+    this.searchResultsSummary = resultsSummary("search");
+    this.exportResultsSummary = resultsSummary("export");
+  }
+
+  private Timer validationTimer(String result) {
+    return Timer.builder("clients.validation")
+        .description("Time spent validating client DTOs")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private DistributionSummary resultsSummary(String query) {
+    return DistributionSummary.builder("clients.query.results")
+        .description("Number of clients returned by a query")
+        .baseUnit("clients")
+        .tag("query", query)
+        .register(meterRegistry);
+  }
+
+  private Set<ConstraintViolation<ClientDto>> validate(ClientDto clientDto) {
+    final var sample = Timer.start(meterRegistry);
+    final var violations = validator.validate(clientDto);
+    sample.stop(violations.isEmpty() ? validValidationTimer : invalidValidationTimer);
+    return violations;
   }
 
   private void validateClientDto(ClientDto clientDto) {
     logger.debug("Validating client DTO: {}", clientDto);
-    final var violations = validator.validate(clientDto);
+    final var violations = validate(clientDto);
     if (!violations.isEmpty()) {
       logger.warn("Validation failed for client DTO: {}", violations);
       throw new ConstraintViolationException(violations);
     }
   }
 
+  private ClientNotFoundException clientNotFound(Long clientId) {
+    return new ClientNotFoundException(
+        messageSource.getMessage(
+            "error.ClientNotFoundException",
+            new Object[] {clientId},
+            LocaleContextHolder.getLocale()));
+  }
+
+  private ClientDeletedException clientDeleted(Long clientId) {
+    return new ClientDeletedException(
+        messageSource.getMessage(
+            "error.ClientDeletedException",
+            new Object[] {clientId},
+            LocaleContextHolder.getLocale()));
+  }
+
+  private Client toClient(ClientDto clientDto) {
+    final var client = new Client();
+    client.setFullName(clientDto.getFullName());
+    client.setPhoneNumber(clientDto.getPhoneNumber());
+    client.setNormalizedPhoneNumber(
+        PhoneNumberValidator.toE164(clientDto.getPhoneNumber()).orElse(null));
+    client.setEmail(clientDto.getEmail());
+    return client;
+  }
+
+  private String encodeCursor(Long clientId) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(clientId.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private long decodeCursor(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return 0L;
+    }
+    try {
+      final var clientId =
+          Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+      if (clientId < 0) {
+        throw new NumberFormatException("Negative client ID: " + clientId);
+      }
+      return clientId;
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid pagination cursor: {}", cursor);
+      throw new InvalidCursorException(
+          messageSource.getMessage(
+              "error.InvalidCursorException",
+              new Object[] {cursor},
+              LocaleContextHolder.getLocale()));
+    }
+  }
+
+  /**
+   * Retrieves a page of active clients, ordered by ID, using keyset pagination.
+   *
+   * <p>Each page is fetched with a single seek on the primary key, so the latency and memory of a
+   * request are bounded by {@code limit} regardless of how deep the page is. Clients are read as
+   * {@link ClientView}s, in a read-only transaction.
+   *
+   * @param limit the maximum number of clients to return
+   * @param after the cursor returned by the previous page, or {@code null} for the first page
+   * @return the page of clients and the cursor for the next page, if any
+   * @throws InvalidCursorException if {@code after} is not a valid cursor
+   */
+  @Transactional(readOnly = true)
+  public ClientPage getClients(int limit, String after) {
+    final var afterId = decodeCursor(after);
+
+    logger.info("Retrieving up to {} clients after ID: {}", limit, afterId);
+    final var clients =
+        clientRepository.findActiveClientsAfter(afterId, PageRequest.of(0, limit + 1));
+
+    final var hasNext = clients.size() > limit;
+    final var content = hasNext ? clients.subList(0, limit) : clients;
+    final var nextCursor = hasNext ? encodeCursor(content.get(limit - 1).getId()) : null;
+
+    pageResultsSummary.record(content.size());
+    logger.info("Found {} active clients, has next page: {}", content.size(), hasNext);
+    return new ClientPage(content, nextCursor);
+  }
+
   /**
-   * Retrieves all active clients from the repository.
+   * Retrieves an active client by its ID.
+   *
+   * <p>Clients are served from a bounded cache, which is kept up to date by {@link #createClient},
+   * {@link #updateClient} and {@link #deleteClient}, so only cache misses reach the repository.
+   * Misses are loaded once per ID, and writes to an entry wait for its load to complete, so a load
+   * that read the client before a concurrent update never replaces the updated client.
    *
-   * @return a collection representing all active clients.
+   * @param clientId the ID of the client to retrieve
+   * @return the client with the given ID
+   * @throws ClientDeletedException if the client with the given ID has been deleted
+   * @throws ClientNotFoundException if no client is found with the given ID
    */
-  public Collection<Client> getAllClients() {
-    logger.info("Retrieving all clients");
-    final var activeClient = clientRepository.findAllActiveClients();
-    logger.info("Found {} active clients", activeClient.size());
-    return activeClient;
+  @Cacheable(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#clientId", sync = true)
+  public Client getClient(Long clientId) {
+    logger.debug("Retrieving client with ID: {}", clientId);
+    final var client =
+        clientRepository
+            .findById(clientId)
+            .orElseThrow(
+                () ->
+                    clientRepository.isArchived(clientId)
+                        ? clientDeleted(clientId)
+                        : clientNotFound(clientId));
+    if (client.getDeletedAt() != null) {
+      logger.warn("Attempt to retrieve deleted client with ID: {}", clientId);
+      throw clientDeleted(clientId);
+    }
+    return client;
+  }
+
+  /**
+   * Searches active clients whose full name or email contains the given query, ignoring case.
+   *
+   * <p>Candidates are looked up in the in-memory {@link ClientSearchIndex}, so only the matching
+   * clients are read from the repository, as {@link ClientView}s, with a single query in a
+   * read-only transaction.
+   *
+   * @param query the text to look for in the full name and email of the clients
+   * @param limit the maximum number of clients to return
+   * @return the matching clients
+   */
+  @Transactional(readOnly = true)
+  public List<ClientView> searchClients(String query, int limit) {
+    logger.info("Searching up to {} clients matching: {}", limit, query);
+    final var clientIds = searchIndex.search(query, limit);
+    if (clientIds.isEmpty()) {
+      searchResultsSummary.record(0);
+      return List.of();
+    }
+
+    final var clientsById =
+        clientRepository.findActiveClientsById(clientIds).stream()
+            .collect(Collectors.toMap(ClientView::getId, Function.identity()));
+    final var clients =
+        clientIds.stream()
+            .map(clientsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+    searchResultsSummary.record(clients.size());
+    logger.info("Found {} clients matching: {}", clients.size(), query);
+    return clients;
+  }
+
+  /**
+   * Writes all active clients to the given output stream as newline-delimited JSON (NDJSON), one
+   * client per line, ordered by ID.
+   *
+   * <p>The clients are read as {@link ClientView}s in keyset pages of {@value #EXPORT_PAGE_SIZE},
+   * each one seeking past the ID of the last client written, so at most one page is held in memory
+   * regardless of the number of clients. A single cursor over the table would not do, as the
+   * embedded H2 database builds the whole result of a query before returning its first row. No
+   * transaction spans the pages, so no connection is held while the response is written.
+   *
+   * @param outputStream the stream to write the clients to. It is not closed by this method.
+   * @return the number of clients written
+   * @throws IOException if writing to the output stream fails
+   */
+  public long exportClients(OutputStream outputStream) throws IOException {
+    logger.info("Exporting all active clients");
+
+    var count = 0L;
+    try (var generator = exportWriter.createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      var afterId = 0L;
+      List<ClientView> page;
+      do {
+        page =
+            clientRepository.findActiveClientsAfter(afterId, PageRequest.of(0, EXPORT_PAGE_SIZE));
+        for (final var client : page) {
+          exportWriter.writeValue(generator, client);
+          generator.writeRaw('\n');
+        }
+        count += page.size();
+        if (!page.isEmpty()) {
+          afterId = page.get(page.size() - 1).getId();
+        }
+      } while (page.size() == EXPORT_PAGE_SIZE);
+    }
+
+    exportResultsSummary.record(count);
+    logger.info("Exported {} active clients", count);
+    return count;
   }
 
   /**
    * Creates a new client based on the provided client data transfer object.
    *
    * <p>This method validates the input, creates a new Client entity, saves it to the repository,
-   * and returns the saved client.
+   * and returns the saved client. The event of the creation is published in the transaction that
+   * saves the client, so its listeners can act on its commit.
    *
    * @param clientDto the DTO containing the client information to be created.
    * @return the newly created and saved client entity
    * @throws ConstraintViolationException if the provided clientDto fails validation.
    */
+  @Transactional
+  @CachePut(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#result.id")
   public Client createClient(ClientDto clientDto) {
     validateClientDto(clientDto);
 
     logger.info("Creating a new client with data: {}", clientDto);
 
-    final var client = new Client();
-    client.setFullName(clientDto.getFullName());
-    client.setPhoneNumber(clientDto.getPhoneNumber());
-    client.setEmail(clientDto.getEmail());
+    final var client = toClient(clientDto);
 
     logger.debug("Saving new client to repository");
     final var savedClient = clientRepository.save(client);
+    eventPublisher.publishEvent(ClientChangedEvent.created(savedClient));
 
     logger.info("Client created successfully with ID: {}", savedClient.getId());
     return savedClient;
   }
 
+  /**
+   * Creates new clients in bulk.
+   *
+   * <p>Every item is validated independently, and invalid items are reported with their errors
+   * instead of failing the whole request. The valid items are inserted in JDBC batches of {@code
+   * clients.bulk.batch-size}, and the persistence context is flushed and cleared after each batch
+   * so it never grows beyond one batch.
+   *
+   * @param clientDtos the DTOs containing the information of the clients to be created
+   * @return the outcome of every item, in the same order as {@code clientDtos}
+   */
+  @Transactional
+  public List<BulkItemResult> createClients(List<ClientDto> clientDtos) {
+    logger.info("Creating {} clients in bulk", clientDtos.size());
+
+    final var batchSize = clientProperties.getBulk().getBatchSize();
+    final var results = new ArrayList<BulkItemResult>(clientDtos.size());
+    final var batch = new ArrayList<Client>(batchSize);
+    for (var index = 0; index < clientDtos.size(); index++) {
+      final var clientDto = clientDtos.get(index);
+      final var violations = validate(clientDto);
+      if (!violations.isEmpty()) {
+        final var errors = new HashMap<String, String>();
+        violations.forEach(
+            violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        results.add(BulkItemResult.invalid(index, errors));
+        continue;
+      }
+
+      final var client = toClient(clientDto);
+      results.add(BulkItemResult.created(index, client));
+      batch.add(client);
+      if (batch.size() == batchSize) {
+        saveBatch(batch);
+      }
+    }
+    saveBatch(batch);
+    results.stream()
+        .filter(result -> result.getClient() != null)
+        .forEach(
+            result -> eventPublisher.publishEvent(ClientChangedEvent.created(result.getClient())));
+
+    logger.info(
+        "Created {} of {} clients in bulk",
+        results.stream().filter(result -> result.getClient() != null).count(),
+        clientDtos.size());
+    return results;
+  }
+
+  private void saveBatch(List<Client> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    logger.debug("Saving batch of {} clients to repository", batch.size());
+    clientRepository.saveAll(batch);
+    entityManager.flush();
+    entityManager.clear();
+    batch.clear();
+  }
+
   /**
    * Updates an existing client with the provided information.
    *
-   * <p>This method checks if the client exists and is not deleted, validates the input data,
-   * updates the client's information, and saves the changes to the repository.
+   * <p>This method validates the input data and updates the client with a single conditional
+   * statement that only matches clients that are not deleted, so there is no window between
+   * checking the client and writing it. The existence of the client is only checked when nothing
+   * was updated, to tell a deleted client from a missing one.
    *
    * @param clientId the ID of the client to be updated
    * @param clientDto the DTO containing the updated client information
@@ -96,55 +432,57 @@ public class ClientService {
    * @throws ClientNotFoundException if no client is found with the given ID
    * @throws ConstraintViolationException if the provided clientDto fails validation
    */
+  @Transactional
+  @CachePut(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#clientId")
   public Client updateClient(Long clientId, ClientDto clientDto) {
-    final var isDeleted = clientRepository.existsByIdAndNotDeleted(clientId);
-    if (!isDeleted) {
-      logger.warn("Attempt to update deleted client with ID: {}", clientId);
-      throw new ClientDeletedException(
-          messageSource.getMessage(
-              "error.ClientDeletedException",
-              new Object[] {clientId},
-              LocaleContextHolder.getLocale()));
-    }
-
     validateClientDto(clientDto);
 
     logger.debug("Updating client with ID: {}", clientId);
-    final var client =
-        clientRepository
-            .findById(clientId)
-            .orElseThrow(
-                () ->
-                    new ClientNotFoundException(
-                        messageSource.getMessage(
-                            "error.ClientNotFoundException",
-                            new Object[] {clientId},
-                            LocaleContextHolder.getLocale())));
+    final var updatedRows =
+        clientRepository.updateActiveClient(
+            clientId,
+            clientDto.getFullName(),
+            clientDto.getEmail(),
+            clientDto.getPhoneNumber(),
+            PhoneNumberValidator.toE164(clientDto.getPhoneNumber()).orElse(null),
+            auditorAware.getCurrentAuditor().orElse(AuditConfig.DEFAULT_AUDITOR));
 
-    client.setEmail(clientDto.getEmail());
-    client.setFullName(clientDto.getFullName());
-    client.setPhoneNumber(clientDto.getPhoneNumber());
-
-    logger.info("Updating client with ID: {}", clientId);
+    if (updatedRows == 0) {
+      if (clientRepository.existsById(clientId) || clientRepository.isArchived(clientId)) {
+        logger.warn("Attempt to update deleted client with ID: {}", clientId);
+        throw clientDeleted(clientId);
+      }
+      logger.warn("Attempt to update non-existent client with ID: {}", clientId);
+      throw clientNotFound(clientId);
+    }
 
-    final var updatedClient = clientRepository.save(client);
+    final var updatedClient =
+        clientRepository.findById(clientId).orElseThrow(() -> clientNotFound(clientId));
+    eventPublisher.publishEvent(ClientChangedEvent.updated(updatedClient));
     logger.info("Client updated with ID: {}", updatedClient.getId());
     return updatedClient;
   }
 
   /**
-   * Deletes a client with the given ID if it exists.
+   * Deletes a client with the given ID if it exists and is not deleted yet.
+   *
+   * <p>The event of the deletion is published in the transaction that deletes the client, so its
+   * listeners can act on its commit.
    *
    * @param clientId the ID of the client to delete
    */
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.CLIENTS_CACHE, key = "#clientId")
   public void deleteClient(Long clientId) {
     logger.info("Attempting to delete client with ID: {}", clientId);
-    final var isDeleted = clientRepository.existsByIdAndNotDeleted(clientId);
-    if (!isDeleted) {
-      logger.warn("Client with ID: {} not found, nothing to delete", clientId);
+    final var deletedRows = clientRepository.deactivateClient(clientId);
+    if (deletedRows == 0) {
+      logger.warn("Client with ID: {} not found or already deleted, nothing to delete", clientId);
       return;
     }
-    clientRepository.deactivateClient(clientId);
+    eventPublisher.publishEvent(
+        ClientChangedEvent.deleted(
+            clientId, auditorAware.getCurrentAuditor().orElse(AuditConfig.DEFAULT_AUDITOR)));
     logger.info("Client with ID: {} deleted", clientId);
   }
 }
@@ -0,0 +1,141 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link ClientService} calls on behalf of the controllers.
+ *
+ * <p>When {@code clients.async.enabled} is set, the calls run on a dedicated pool sized to the
+ * connection pool, with a bounded queue, so servlet container threads are released while requests
+ * wait for the database. When the queue is full, the call is rejected immediately with a {@link
+ * TaskRejectedException} instead of piling up. Otherwise, the calls run on the calling thread.
+ *
+ * <p>The security and locale contexts of the caller are propagated to the pool threads. The pool is
+ * published as the {@code executor.*} meters with the {@code name=clients} tag, and rejections are
+ * counted by {@code clients.executor.rejected}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class ClientServiceExecutor implements DisposableBean {
+  private static final Logger logger = LoggerFactory.getLogger(ClientServiceExecutor.class);
+
+  private final ThreadPoolTaskExecutor executor;
+
+  ClientServiceExecutor(
+      ClientProperties clientProperties, DataSource dataSource, MeterRegistry meterRegistry) {
+    final var properties = clientProperties.getAsync();
+    if (!properties.isEnabled()) {
+      this.executor = null;
+      return;
+    }
+
+    var poolSize = properties.getPoolSize();
+    if (poolSize <= 0) {
+      poolSize =
+          dataSource instanceof HikariDataSource
+              ? ((HikariDataSource) dataSource).getMaximumPoolSize()
+              : Runtime.getRuntime().availableProcessors();
+    }
+    final var rejections =
+        Counter.builder("clients.executor.rejected")
+            .description("Number of service calls rejected because the executor was saturated")
+            .register(meterRegistry);
+
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("clients-");
+    executor.setTaskDecorator(ClientServiceExecutor::propagateContexts);
+    executor.setRejectedExecutionHandler(
+        (task, threadPoolExecutor) -> {
+          rejections.increment();
+          throw new RejectedExecutionException("Client service executor is saturated");
+        });
+    executor.initialize();
+    new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "clients", Tags.empty())
+        .bindTo(meterRegistry);
+
+    logger.info(
+        "Running client service calls on {} threads with a queue of {} tasks",
+        poolSize,
+        properties.getQueueCapacity());
+  }
+
+  private static Runnable propagateContexts(Runnable task) {
+    final var securityTask =
+        new DelegatingSecurityContextRunnable(task, SecurityContextHolder.getContext());
+    final var localeContext = LocaleContextHolder.getLocaleContext();
+    return () -> {
+      LocaleContextHolder.setLocaleContext(localeContext);
+      try {
+        securityTask.run();
+      } finally {
+        LocaleContextHolder.resetLocaleContext();
+      }
+    };
+  }
+
+  /**
+   * Runs the given service call.
+   *
+   * @param call the service call
+   * @param <T> the type of the result of the call
+   * @return the future result of the call, already completed when asynchronous execution is
+   *     disabled
+   * @throws TaskRejectedException if the executor is saturated
+   */
+  public <T> CompletableFuture<T> supply(Supplier<T> call) {
+    if (executor == null) {
+      try {
+        return CompletableFuture.completedFuture(call.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    return CompletableFuture.supplyAsync(call, executor);
+  }
+
+  /**
+   * Runs the given service call.
+   *
+   * @param call the service call
+   * @return the future completion of the call, already completed when asynchronous execution is
+   *     disabled
+   * @throws TaskRejectedException if the executor is saturated
+   */
+  public CompletableFuture<Void> run(Runnable call) {
+    return supply(
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  @Override
+  public void destroy() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,333 @@
+package io.github.antoniomayk.dxc.clients.stats;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.ClientStats;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory aggregate statistics of the clients: the number of active and deleted clients, the most
+ * common email domains and the number of clients created per day.
+ *
+ * <p>The statistics are read from the database at startup and then kept up to date through {@link
+ * ClientChangedEvent}s on striped counters, so reading them costs nothing like a count over the
+ * table. Email domains and creations count every registered client, including deleted ones, as
+ * deletion events do not carry the email of the client.
+ *
+ * <p>Changes that do not go through the service, such as generated clients, and email updates are
+ * only picked up when the statistics are reconciled with the database, every {@code
+ * clients.stats.interval}. A reconciliation reads one serializable snapshot of the database, taken
+ * while no change is between its commit and its event, so every change is counted either by the
+ * snapshot or by its event, never by both.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@Component
+public class ClientStatistics implements DisposableBean {
+  private static final Logger logger = LoggerFactory.getLogger(ClientStatistics.class);
+
+  // Any statement makes a serializable transaction take its snapshot.
+  private static final String SNAPSHOT_SQL = "SELECT 1";
+  private static final String ACTIVE_SQL = "SELECT COUNT(*) FROM clients WHERE deleted_at IS NULL";
+  private static final String DELETED_SQL =
+      "SELECT (SELECT COUNT(*) FROM clients WHERE deleted_at IS NOT NULL)"
+          + " + (SELECT COUNT(*) FROM clients_archive)";
+  private static final String DOMAINS_SQL =
+      "SELECT domain, COUNT(*) AS clients FROM ("
+          + "SELECT LOWER(SUBSTRING(email, LOCATE('@', email) + 1)) AS domain FROM clients"
+          + " UNION ALL"
+          + " SELECT LOWER(SUBSTRING(email, LOCATE('@', email) + 1)) FROM clients_archive"
+          + ") GROUP BY domain ORDER BY clients DESC LIMIT :limit";
+  private static final String DAYS_SQL =
+      "SELECT day, COUNT(*) AS clients FROM ("
+          + "SELECT CAST(created_at AS DATE) AS day FROM clients WHERE created_at >= :since"
+          + " UNION ALL"
+          + " SELECT CAST(created_at AS DATE) FROM clients_archive WHERE created_at >= :since"
+          + ") GROUP BY day";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ClientProperties.Stats properties;
+  private final Counter corrections;
+
+  // Transactions changing clients hold the read lock from before their commit until their events
+  // are applied, a reconciliation takes its snapshot under the write lock.
+  private final ReadWriteLock fence = new ReentrantReadWriteLock();
+  // Events update the aggregates under the read lock, a reconciliation swaps them under the write
+  // lock, so no event is applied to an aggregate that has already been replaced.
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile Aggregate current;
+  private Aggregate pending;
+  private volatile Instant reconciledAt;
+
+  private final ScheduledExecutorService scheduler;
+
+  ClientStatistics(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      ClientProperties clientProperties,
+      MeterRegistry meterRegistry,
+      PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    this.transactionTemplate.setReadOnly(true);
+    this.properties = clientProperties.getStats();
+    this.current = new Aggregate(properties.getMaxDomains());
+    this.corrections =
+        Counter.builder("clients.stats.corrections")
+            .description(
+                "Active and deleted clients added or removed by reconciliations, as counted by"
+                    + " the statistics")
+            .register(meterRegistry);
+
+    final var interval = properties.getInterval().toNanos();
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("clients-stats-"));
+    scheduler.scheduleWithFixedDelay(this::run, interval, interval, TimeUnit.NANOSECONDS);
+  }
+
+  static String domainOf(String email) {
+    return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+  }
+
+  private void run() {
+    try {
+      reconcile();
+    } catch (RuntimeException e) {
+      logger.error("Could not reconcile the client statistics", e);
+    }
+  }
+
+  /**
+   * Replaces the statistics with the ones read from the database, plus the changes committed after
+   * the database was read.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void reconcile() {
+    final long start = System.nanoTime();
+    final var previous = current;
+    final Aggregate reconciled;
+    try {
+      reconciled = transactionTemplate.execute(status -> read());
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pending = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      reconciled.add(pending);
+      corrections.increment(
+          Math.abs(reconciled.active.sum() - previous.active.sum())
+              + Math.abs(reconciled.deleted.sum() - previous.deleted.sum()));
+      current = reconciled;
+      pending = null;
+      reconciledAt = Instant.now();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    logger.info(
+        "Reconciled client statistics in {} ms: {} active, {} deleted",
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        reconciled.active.sum(),
+        reconciled.deleted.sum());
+  }
+
+  private Aggregate read() {
+    // The connection is already held, so committing transactions never wait for one it holds.
+    fence.writeLock().lock();
+    try {
+      lock.writeLock().lock();
+      try {
+        pending = new Aggregate(properties.getMaxDomains());
+      } finally {
+        lock.writeLock().unlock();
+      }
+      jdbcTemplate.queryForObject(SNAPSHOT_SQL, Map.of(), Integer.class);
+    } finally {
+      fence.writeLock().unlock();
+    }
+
+    final var since = LocalDate.now().minusDays(Math.max(properties.getDays(), 1) - 1L);
+    final var reconciled = new Aggregate(properties.getMaxDomains());
+    reconciled.active.add(jdbcTemplate.queryForObject(ACTIVE_SQL, Map.of(), Long.class));
+    reconciled.deleted.add(jdbcTemplate.queryForObject(DELETED_SQL, Map.of(), Long.class));
+    jdbcTemplate.query(
+        DOMAINS_SQL,
+        Map.of("limit", Math.max(properties.getMaxDomains(), 1)),
+        row -> {
+          reconciled.counter(reconciled.domains, row.getString(1)).add(row.getLong(2));
+        });
+    jdbcTemplate.query(
+        DAYS_SQL,
+        Map.of("since", Timestamp.valueOf(since.atStartOfDay())),
+        row -> {
+          reconciled.counter(reconciled.days, row.getDate(1).toLocalDate()).add(row.getLong(2));
+        });
+    return reconciled;
+  }
+
+  @EventListener
+  void onClientChanged(ClientChangedEvent event) {
+    if (event.getType() == ClientChangedEvent.Type.UPDATED) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Published after its change was committed, which no fence can cover. The service publishes
+      // every change in the transaction that makes it.
+      apply(event);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          private boolean fenced;
+
+          @Override
+          public void beforeCommit(boolean readOnly) {
+            fence.readLock().lock();
+            fenced = true;
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            try {
+              if (status == STATUS_COMMITTED) {
+                apply(event);
+              }
+            } finally {
+              if (fenced) {
+                fence.readLock().unlock();
+              }
+            }
+          }
+        });
+  }
+
+  private void apply(ClientChangedEvent event) {
+    lock.readLock().lock();
+    try {
+      apply(current, event);
+      if (pending != null) {
+        apply(pending, event);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static void apply(Aggregate aggregate, ClientChangedEvent event) {
+    if (event.getType() == ClientChangedEvent.Type.DELETED) {
+      aggregate.active.decrement();
+      aggregate.deleted.increment();
+      return;
+    }
+    final var client = event.getClient();
+    final var createdAt = client.getCreatedAt();
+    aggregate.active.increment();
+    aggregate.counter(aggregate.domains, domainOf(client.getEmail())).increment();
+    aggregate
+        .counter(aggregate.days, createdAt != null ? createdAt.toLocalDate() : LocalDate.now())
+        .increment();
+  }
+
+  /**
+   * Returns the current statistics.
+   *
+   * @return the number of active and deleted clients, the {@code clients.stats.top-domains} most
+   *     common email domains and the creations of the last {@code clients.stats.days} days
+   */
+  public ClientStats getStats() {
+    final var aggregate = current;
+    final var since = LocalDate.now().minusDays(Math.max(properties.getDays(), 1) - 1L);
+    final var topDomains =
+        aggregate.domains.entrySet().stream()
+            .map(entry -> new ClientStats.DomainCount(entry.getKey(), entry.getValue().sum()))
+            .filter(domain -> domain.getClients() > 0)
+            .sorted(
+                Comparator.comparingLong(ClientStats.DomainCount::getClients)
+                    .reversed()
+                    .thenComparing(ClientStats.DomainCount::getDomain))
+            .limit(Math.max(properties.getTopDomains(), 0))
+            .collect(Collectors.toList());
+    final var creationsPerDay = new TreeMap<LocalDate, Long>();
+    aggregate.days.forEach(
+        (day, clients) -> {
+          if (!day.isBefore(since)) {
+            creationsPerDay.put(day, clients.sum());
+          }
+        });
+    return new ClientStats(
+        aggregate.active.sum(), aggregate.deleted.sum(), topDomains, creationsPerDay, reconciledAt);
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+  }
+
+  /** Counters of one generation of the statistics. */
+  private static final class Aggregate {
+    private final int maxDomains;
+    private final LongAdder active = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final Map<String, LongAdder> domains = new ConcurrentHashMap<>();
+    private final Map<LocalDate, LongAdder> days = new ConcurrentHashMap<>();
+
+    private Aggregate(int maxDomains) {
+      this.maxDomains = maxDomains;
+    }
+
+    private <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+      final var counter = counters.get(key);
+      if (counter != null) {
+        return counter;
+      }
+      if (counters == domains && domains.size() >= maxDomains) {
+        return new LongAdder();
+      }
+      return counters.computeIfAbsent(key, ignored -> new LongAdder());
+    }
+
+    private void add(Aggregate other) {
+      active.add(other.active.sum());
+      deleted.add(other.deleted.sum());
+      other.domains.forEach((domain, clients) -> counter(domains, domain).add(clients.sum()));
+      other.days.forEach((day, clients) -> counter(days, day).add(clients.sum()));
+    }
+  }
+}
@@ -1,8 +1,12 @@
 package io.github.antoniomayk.dxc.clients.validator;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.PhoneNumberUtil.PhoneNumberFormat;
 import io.github.antoniomayk.dxc.clients.constraint.PhoneNumber;
+import java.util.Optional;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
@@ -13,20 +17,62 @@ import javax.validation.ConstraintValidatorContext;
  * PhoneNumberUtil} to parse and validate phone numbers. If the number cannot be parsed or is
  * determined to be invalid, the validation fails.
  *
+ * <p>Parsing is expensive, so the outcome of each parse is memoized in a bounded, thread-safe cache
+ * keyed by the raw input, which is shared with {@link #toE164(CharSequence)}. Bulk callers that
+ * parse each number once use {@link #parseE164(CharSequence)}, so they do not evict the numbers
+ * that requests keep validating.
+ *
  * @author Antonio Mayk
  * @since 0.1
  */
 public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, CharSequence> {
   private static final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
 
+  private static final Cache<String, Optional<String>> e164Cache =
+      Caffeine.newBuilder().maximumSize(10_000).build();
+
   @Override
   public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+    return toE164(value).isPresent();
+  }
+
+  /**
+   * Normalizes a phone number to the E.164 format, e.g. {@code +15551234567}.
+   *
+   * @param value the phone number, in international format
+   * @return the phone number in E.164 format, or an empty optional if it is {@code null}, cannot be
+   *     parsed or is not a valid number
+   */
+  public static Optional<String> toE164(CharSequence value) {
+    if (value == null) {
+      return Optional.empty();
+    }
+    return e164Cache.get(value.toString(), PhoneNumberValidator::parseE164);
+  }
+
+  static boolean isCached(CharSequence value) {
+    return e164Cache.getIfPresent(value.toString()) != null;
+  }
+
+  /**
+   * Normalizes a phone number to the E.164 format like {@link #toE164(CharSequence)}, without
+   * reading or filling the cache.
+   *
+   * @param value the phone number, in international format
+   * @return the phone number in E.164 format, or an empty optional if it is {@code null}, cannot be
+   *     parsed or is not a valid number
+   */
+  public static Optional<String> parseE164(CharSequence value) {
+    if (value == null) {
+      return Optional.empty();
+    }
     try {
-      final var phoneNumber = phoneUtil.parseAndKeepRawInput(value, null);
-      return phoneUtil.isValidNumber(phoneNumber);
+      final var phoneNumber = phoneUtil.parse(value, null);
+      return phoneUtil.isValidNumber(phoneNumber)
+          ? Optional.of(phoneUtil.format(phoneNumber, PhoneNumberFormat.E164))
+          : Optional.empty();
     } catch (NumberParseException e) {
-      context.buildConstraintViolationWithTemplate("Number not valid for the specified region.");
-      return false;
+      return Optional.empty();
     }
   }
 }
@@ -0,0 +1,39 @@
+-- Increments by clients.id.allocation-size, the number of IDs Hibernate assigns per sequence call.
+CREATE SEQUENCE clients_seq START WITH 1 INCREMENT BY ${clients_id_allocation_size};
+
+CREATE TABLE clients (
+  id bigint DEFAULT NEXT VALUE FOR clients_seq PRIMARY KEY,
+  full_name varchar(255) NOT NULL,
+  email varchar(255) NOT NULL,
+  phone_number varchar(20) NOT NULL,
+  normalized_phone_number varchar(16),
+  deleted_at timestamp DEFAULT NULL,
+  created_by varchar(255) DEFAULT 'INTERNAL' NOT NULL,
+  created_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  modified_by varchar(255) DEFAULT 'INTERNAL' NOT NULL,
+  modified_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Active clients are those with a null deleted_at, paged and streamed in ID order. H2 has no
+-- partial indexes, so the ID follows deleted_at, which also orders the overdue clients for archival.
+CREATE INDEX idx_clients_deleted_at ON clients (deleted_at, id);
+
+CREATE INDEX idx_clients_email ON clients (email);
+
+CREATE INDEX idx_clients_normalized_phone_number ON clients (normalized_phone_number);
+
+CREATE INDEX idx_clients_modified_at ON clients (modified_at);
+
+CREATE TABLE clients_archive (
+  id bigint PRIMARY KEY,
+  full_name varchar(255) NOT NULL,
+  email varchar(255) NOT NULL,
+  phone_number varchar(20) NOT NULL,
+  normalized_phone_number varchar(16),
+  deleted_at timestamp NOT NULL,
+  created_by varchar(255) NOT NULL,
+  created_at timestamp NOT NULL,
+  modified_by varchar(255) NOT NULL,
+  modified_at timestamp NOT NULL,
+  archived_at timestamp NOT NULL
+);
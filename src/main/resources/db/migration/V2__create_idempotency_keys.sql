@@ -0,0 +1,11 @@
+-- Responses to client creations made with an Idempotency-Key, kept when
+-- clients.idempotency.table-enabled is set. The key is prefixed with the name of the user who sent it.
+CREATE TABLE clients_idempotency_keys (
+  idempotency_key varchar(511) PRIMARY KEY,
+  fingerprint varchar(64) NOT NULL,
+  response varchar(4000) NOT NULL,
+  created_at timestamp DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Expired keys are deleted by creation time.
+CREATE INDEX idx_clients_idempotency_keys_created_at ON clients_idempotency_keys (created_at);
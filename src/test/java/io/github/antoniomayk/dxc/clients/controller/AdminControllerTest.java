@@ -0,0 +1,115 @@
+package io.github.antoniomayk.dxc.clients.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.antoniomayk.dxc.clients.dto.TokenResponse;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  void generateClients_ShouldInsertSearchableClients() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/admin/clients/_generate")
+                .param("rows", "250")
+                .param("seed", "42")
+                .param("threads", "2")
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rows").value(250))
+        .andExpect(jsonPath("$.seed").value(42))
+        .andExpect(jsonPath("$.threads").value(2));
+
+    final var search =
+        mockMvc
+            .perform(
+                get("/api/v1/clients/search")
+                    .param("q", "@")
+                    .param("limit", "100")
+                    .with(httpBasic("admin", "admin")))
+            .andReturn();
+    mockMvc
+        .perform(asyncDispatch(search))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(100));
+  }
+
+  @Test
+  void generateClients_WithInvalidRows_ShouldReturnBadRequest() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/admin/clients/_generate")
+                .param("rows", "0")
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void findDuplicateClients_ShouldStreamNdjson() throws Exception {
+    final var result =
+        mockMvc
+            .perform(get("/api/v1/admin/clients/duplicates").with(httpBasic("admin", "admin")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+  }
+
+  @Test
+  void findDuplicateClients_ShouldUseDedupTimeout() throws Exception {
+    final var result =
+        mockMvc
+            .perform(get("/api/v1/admin/clients/duplicates").with(httpBasic("admin", "admin")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    assertEquals(TimeUnit.HOURS.toMillis(1), result.getRequest().getAsyncContext().getTimeout());
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+  }
+
+  @Test
+  void generateClients_WithToken_ShouldBeForbidden() throws Exception {
+    final var response =
+        mockMvc
+            .perform(post("/api/v1/auth/token").with(httpBasic("admin", "admin")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    final var token = objectMapper.readValue(response, TokenResponse.class).getAccessToken();
+
+    mockMvc
+        .perform(
+            post("/api/v1/admin/clients/_generate")
+                .param("rows", "1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isForbidden());
+  }
+}
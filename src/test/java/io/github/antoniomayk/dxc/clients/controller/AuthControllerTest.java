@@ -0,0 +1,77 @@
+package io.github.antoniomayk.dxc.clients.controller;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.antoniomayk.dxc.clients.dto.TokenResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private String createToken() throws Exception {
+    final var response =
+        mockMvc
+            .perform(post("/api/v1/auth/token").with(httpBasic("admin", "admin")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tokenType").value("Bearer"))
+            .andExpect(jsonPath("$.expiresIn").value(900))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    return objectMapper.readValue(response, TokenResponse.class).getAccessToken();
+  }
+
+  @Test
+  void createToken_WithCredentials_ShouldReturnTokenAcceptedByApi() throws Exception {
+    final var token = createToken();
+
+    mockMvc
+        .perform(get("/api/v1/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE));
+  }
+
+  @Test
+  void createToken_WithWrongPassword_ShouldBeUnauthorized() throws Exception {
+    mockMvc
+        .perform(post("/api/v1/auth/token").with(httpBasic("admin", "not-admin")))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void createToken_WithToken_ShouldBeForbidden() throws Exception {
+    final var token = createToken();
+
+    mockMvc
+        .perform(post("/api/v1/auth/token").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void getClients_WithTamperedToken_ShouldBeUnauthorized() throws Exception {
+    final var token = createToken();
+    final var tampered = token.substring(0, token.length() - 2) + "xx";
+
+    mockMvc
+        .perform(get("/api/v1/clients").header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+        .andExpect(status().isUnauthorized());
+  }
+}
@@ -1,36 +1,70 @@
 package io.github.antoniomayk.dxc.clients.controller;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.antoniomayk.dxc.clients.config.CacheConfig;
 import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
 import io.github.antoniomayk.dxc.clients.entity.Client;
 import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import io.github.antoniomayk.dxc.clients.search.ClientSearchIndex;
+import io.github.antoniomayk.dxc.clients.service.ClientService;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
-@SpringBootTest
+@SpringBootTest(properties = "clients.async.enabled=true")
 @AutoConfigureMockMvc
+@AutoConfigureMetrics
 @ActiveProfiles("test")
 class ClientControllerTest {
 
@@ -38,44 +72,257 @@ class ClientControllerTest {
 
   @Autowired private ObjectMapper objectMapper;
 
+  @Autowired private CacheManager cacheManager;
+
+  @Autowired private ClientSearchIndex searchIndex;
+
+  @Autowired private ClientService clientService;
+
   @MockBean private ClientRepository clientRepository;
 
   private Client testClient;
+  private ClientView testClientView;
   private ClientDto testClientDto;
 
   @BeforeEach
   void setUp() {
+    cacheManager.getCache(CacheConfig.CLIENTS_CACHE).clear();
+
     testClient = new Client();
     testClient.setId(1L);
     testClient.setFullName("John Doe");
     testClient.setEmail("john.doe@example.com");
     testClient.setPhoneNumber("+5588988397489");
 
+    testClientView =
+        new ClientView(
+            testClient.getId(),
+            testClient.getFullName(),
+            testClient.getEmail(),
+            testClient.getPhoneNumber(),
+            null,
+            null,
+            null,
+            null,
+            null);
+
     testClientDto = new ClientDto();
     testClientDto.setFullName(testClient.getFullName());
     testClientDto.setEmail(testClient.getEmail());
     testClientDto.setPhoneNumber(testClient.getPhoneNumber());
   }
 
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    final var resultActions = mockMvc.perform(requestBuilder);
+    final var result = resultActions.andReturn();
+    return result.getRequest().isAsyncStarted()
+        ? mockMvc.perform(asyncDispatch(result))
+        : resultActions;
+  }
+
   @Test
   void getAllClients() throws Exception {
-    when(clientRepository.findAllActiveClients()).thenReturn(Arrays.asList(testClient));
+    when(clientRepository.findActiveClientsAfter(eq(0L), any(Pageable.class)))
+        .thenReturn(Arrays.asList(testClientView));
 
-    mockMvc
-        .perform(get("/api/v1/clients").with(httpBasic("admin", "admin")))
+    perform(get("/api/v1/clients").with(httpBasic("admin", "admin")))
         .andExpect(status().isOk())
         .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-        .andExpect(jsonPath("$[0].fullName").value(testClient.getFullName()))
-        .andExpect(jsonPath("$[0].email").value(testClient.getEmail()))
-        .andExpect(jsonPath("$[0].phoneNumber").value(testClient.getPhoneNumber()));
+        .andExpect(jsonPath("$.content[0].fullName").value(testClient.getFullName()))
+        .andExpect(jsonPath("$.content[0].email").value(testClient.getEmail()))
+        .andExpect(jsonPath("$.content[0].phoneNumber").value(testClient.getPhoneNumber()))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void getAllClientsAfterCursor() throws Exception {
+    final var cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("1".getBytes());
+    when(clientRepository.findActiveClientsAfter(eq(1L), any(Pageable.class)))
+        .thenReturn(Arrays.asList(testClientView));
+
+    perform(
+            get("/api/v1/clients")
+                .param("limit", "10")
+                .param("after", cursor)
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(testClient.getId()));
+  }
+
+  @Test
+  void getAllClientsWithInvalidParameters() throws Exception {
+    perform(get("/api/v1/clients").param("limit", "0").with(httpBasic("admin", "admin")))
+        .andExpect(status().isBadRequest());
+
+    perform(get("/api/v1/clients").param("after", "@@").with(httpBasic("admin", "admin")))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getClient() throws Exception {
+    when(clientRepository.findById(testClient.getId())).thenReturn(Optional.of(testClient));
+
+    for (var i = 0; i < 2; i++) {
+      perform(get("/api/v1/clients/1").with(httpBasic("admin", "admin")))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.id").value(testClient.getId()))
+          .andExpect(jsonPath("$.fullName").value(testClient.getFullName()));
+    }
+
+    verify(clientRepository, times(1)).findById(testClient.getId());
+  }
+
+  @Test
+  void getClientMissRacingUpdate_ShouldKeepUpdatedClient() throws Exception {
+    final var updatedClient = new Client();
+    updatedClient.setId(testClient.getId());
+    updatedClient.setFullName("Jane Doe");
+    final var loading = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var reads = new AtomicInteger();
+    when(clientRepository.findById(testClient.getId()))
+        .thenAnswer(
+            invocation -> {
+              if (reads.getAndIncrement() > 0) {
+                return Optional.of(updatedClient);
+              }
+              loading.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return Optional.of(testClient);
+            });
+    when(clientRepository.updateActiveClient(
+            eq(testClient.getId()), any(), any(), any(), any(), any()))
+        .thenReturn(1);
+
+    final var read = CompletableFuture.supplyAsync(() -> clientService.getClient(1L));
+    assertTrue(loading.await(5, TimeUnit.SECONDS));
+    final var update =
+        CompletableFuture.supplyAsync(() -> clientService.updateClient(1L, testClientDto));
+    try {
+      // Waits on the read while the cache entry is being loaded.
+      update.get(500, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // Expected: the update waits for the load to complete before replacing the entry.
+    }
+    release.countDown();
+    read.get(5, TimeUnit.SECONDS);
+    update.get(5, TimeUnit.SECONDS);
+
+    assertEquals("Jane Doe", clientService.getClient(1L).getFullName());
+    verify(clientRepository, times(2)).findById(testClient.getId());
+  }
+
+  @Test
+  void getClientInBinaryFormats() throws Exception {
+    when(clientRepository.findById(testClient.getId())).thenReturn(Optional.of(testClient));
+
+    for (final var mediaType :
+        List.of(MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_CBOR)) {
+      final var body =
+          perform(get("/api/v1/clients/1").accept(mediaType).with(httpBasic("admin", "admin")))
+              .andExpect(status().isOk())
+              .andExpect(content().contentTypeCompatibleWith(mediaType))
+              .andExpect(header().exists(HttpHeaders.CONTENT_LENGTH))
+              .andReturn()
+              .getResponse()
+              .getContentAsByteArray();
+      final var factory =
+          mediaType.equals(MediaType.APPLICATION_CBOR) ? new CBORFactory() : new SmileFactory();
+      final var client = new ObjectMapper(factory).readTree(body);
+
+      assertEquals(testClient.getId(), client.get("id").asLong());
+      assertEquals(testClient.getFullName(), client.get("fullName").asText());
+    }
+  }
+
+  @Test
+  void getStats() throws Exception {
+    perform(get("/api/v1/clients/stats").with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.activeClients").isNumber())
+        .andExpect(jsonPath("$.deletedClients").isNumber())
+        .andExpect(jsonPath("$.topEmailDomains").isArray())
+        .andExpect(jsonPath("$.creationsPerDay").isMap());
+  }
+
+  @Test
+  void getClientAfterDelete() throws Exception {
+    when(clientRepository.findById(testClient.getId())).thenReturn(Optional.of(testClient));
+    when(clientRepository.deactivateClient(testClient.getId())).thenReturn(1);
+
+    perform(get("/api/v1/clients/1").with(httpBasic("admin", "admin"))).andExpect(status().isOk());
+
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk());
+
+    when(clientRepository.findById(testClient.getId())).thenReturn(Optional.empty());
+    perform(get("/api/v1/clients/1").with(httpBasic("admin", "admin")))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void searchClients() throws Exception {
+    searchIndex.add(testClient);
+    when(clientRepository.findActiveClientsById(List.of(testClient.getId())))
+        .thenReturn(List.of(testClientView));
+
+    perform(get("/api/v1/clients/search").param("q", "DOE@EXA").with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(testClient.getId()))
+        .andExpect(jsonPath("$[0].fullName").value(testClient.getFullName()));
+
+    perform(get("/api/v1/clients/search").param("q", " ").with(httpBasic("admin", "admin")))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void exportClients() throws Exception {
+    final var otherClient =
+        new ClientView(2L, "Jane Doe", null, null, null, null, null, null, null);
+    when(clientRepository.findActiveClientsAfter(0L, PageRequest.of(0, 1000)))
+        .thenReturn(List.of(testClientView, otherClient));
+
+    final var result =
+        mockMvc
+            .perform(get("/api/v1/clients/export").with(httpBasic("admin", "admin")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    assertEquals(TimeUnit.HOURS.toMillis(1), result.getRequest().getAsyncContext().getTimeout());
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(
+            content()
+                .string(
+                    objectMapper.writeValueAsString(testClientView)
+                        + "\n"
+                        + objectMapper.writeValueAsString(otherClient)
+                        + "\n"));
+  }
+
+  @Test
+  void prometheusMetrics() throws Exception {
+    perform(get("/api/v1/clients/999").with(httpBasic("admin", "admin")))
+        .andExpect(status().isNotFound());
+
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .string(
+                    containsString(
+                        "http_server_requests_seconds_bucket{exception=\"ClientNotFoundException\"")))
+        .andExpect(content().string(containsString("clients_validation_seconds")));
   }
 
   @Test
   void postClient() throws Exception {
     when(clientRepository.save(any(Client.class))).thenReturn(testClient);
 
-    mockMvc
-        .perform(
+    perform(
             post("/api/v1/clients")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testClientDto))
@@ -84,16 +331,99 @@ class ClientControllerTest {
         .andExpect(jsonPath("$.fullName").value(testClient.getFullName()))
         .andExpect(jsonPath("$.email").value(testClient.getEmail()))
         .andExpect(jsonPath("$.phoneNumber").value(testClient.getPhoneNumber()));
+
+    verify(clientRepository)
+        .save(argThat(client -> "+5588988397489".equals(client.getNormalizedPhoneNumber())));
+  }
+
+  @Test
+  void postClientWithIdempotencyKey() throws Exception {
+    when(clientRepository.save(any(Client.class))).thenReturn(testClient);
+    final var key = UUID.randomUUID().toString();
+    final var request =
+        post("/api/v1/clients")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(testClientDto))
+            .with(httpBasic("admin", "admin"));
+
+    perform(request)
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Idempotent-Replayed", "false"))
+        .andExpect(jsonPath("$.id").value(testClient.getId()));
+    perform(request)
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Idempotent-Replayed", "true"))
+        .andExpect(jsonPath("$.id").value(testClient.getId()));
+
+    verify(clientRepository, times(1)).save(any(Client.class));
+  }
+
+  @Test
+  void postClientWithReusedIdempotencyKey() throws Exception {
+    when(clientRepository.save(any(Client.class))).thenReturn(testClient);
+    final var key = UUID.randomUUID().toString();
+
+    perform(
+            post("/api/v1/clients")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testClientDto))
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isCreated());
+    testClientDto.setFullName("Jane Doe");
+    perform(
+            post("/api/v1/clients")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testClientDto))
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(
+            jsonPath("$.message")
+                .value("The Idempotency-Key was already used with a different request"));
+
+    verify(clientRepository, times(1)).save(any(Client.class));
+  }
+
+  @Test
+  void postClients() throws Exception {
+    final var invalidClientDto = new ClientDto();
+    invalidClientDto.setFullName(testClientDto.getFullName());
+    invalidClientDto.setEmail("not-an-email");
+    invalidClientDto.setPhoneNumber(testClientDto.getPhoneNumber());
+
+    perform(
+            post("/api/v1/clients/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(Arrays.asList(testClientDto, invalidClientDto)))
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+        .andExpect(jsonPath("$.items[0].client.email").value(testClient.getEmail()))
+        .andExpect(jsonPath("$.items[1].index").value(1))
+        .andExpect(jsonPath("$.items[1].status").value("INVALID"))
+        .andExpect(jsonPath("$.items[1].errors.email").exists());
+
+    verify(clientRepository, times(1)).saveAll(any());
   }
 
   @Test
   void putClient() throws Exception {
+    when(clientRepository.updateActiveClient(
+            testClient.getId(),
+            testClient.getFullName(),
+            testClient.getEmail(),
+            testClient.getPhoneNumber(),
+            "+5588988397489",
+            "admin"))
+        .thenReturn(1);
     when(clientRepository.findById(testClient.getId())).thenReturn(Optional.of(testClient));
-    when(clientRepository.existsByIdAndNotDeleted(testClient.getId())).thenReturn(true);
-    when(clientRepository.save(any(Client.class))).thenReturn(testClient);
 
-    mockMvc
-        .perform(
+    perform(
             put("/api/v1/clients/1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testClientDto))
@@ -105,14 +435,133 @@ class ClientControllerTest {
         .andExpect(jsonPath("$.phoneNumber").value(testClient.getPhoneNumber()));
   }
 
+  @Test
+  void putDeletedClient() throws Exception {
+    when(clientRepository.existsById(testClient.getId())).thenReturn(true);
+
+    perform(
+            put("/api/v1/clients/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testClientDto))
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value("Client with ID 1 has been deleted"));
+  }
+
+  @Test
+  void putNonExistentClient() throws Exception {
+    perform(
+            put("/api/v1/clients/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testClientDto))
+                .with(httpBasic("admin", "admin")))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value("Client with ID 1 was not found"));
+  }
+
   @Test
   void deleteClient() throws Exception {
-    when(clientRepository.existsByIdAndNotDeleted(testClient.getId())).thenReturn(true);
+    when(clientRepository.deactivateClient(testClient.getId())).thenReturn(1);
 
-    mockMvc
-        .perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")))
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")))
         .andExpect(status().isOk());
 
     verify(clientRepository, times(1)).deactivateClient(testClient.getId());
   }
+
+  private static String awaitContent(MvcResult result, String expected) throws Exception {
+    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    var content = result.getResponse().getContentAsString();
+    while (!content.contains(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      content = result.getResponse().getContentAsString();
+    }
+    assertThat(content, containsString(expected));
+    return content;
+  }
+
+  @Test
+  void streamEvents() throws Exception {
+    when(clientRepository.deactivateClient(testClient.getId())).thenReturn(1);
+    final var subscription =
+        mockMvc
+            .perform(get("/api/v1/clients/events").with(httpBasic("admin", "admin")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")))
+        .andExpect(status().isOk());
+
+    // The data line is the last one written for an event.
+    final var content = awaitContent(subscription, "\"auditor\":\"admin\"");
+    assertThat(content, containsString("event:deleted"));
+    assertThat(content, containsString("\"clientId\":1"));
+  }
+
+  @Test
+  void streamEventsAfterLastEventId() throws Exception {
+    when(clientRepository.deactivateClient(testClient.getId())).thenReturn(1);
+    final var subscription =
+        mockMvc
+            .perform(get("/api/v1/clients/events").with(httpBasic("admin", "admin")))
+            .andReturn();
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")));
+    final var matcher =
+        Pattern.compile("id:(\\w+)-(\\d+)").matcher(awaitContent(subscription, "event:deleted"));
+    assertTrue(matcher.find());
+    final var epoch = matcher.group(1);
+    final var lastSequence = Long.parseLong(matcher.group(2));
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")));
+
+    final var resumed =
+        mockMvc
+            .perform(
+                get("/api/v1/clients/events")
+                    .header("Last-Event-ID", epoch + "-" + lastSequence)
+                    .with(httpBasic("admin", "admin")))
+            .andReturn();
+
+    final var content = awaitContent(resumed, "id:" + epoch + "-" + (lastSequence + 1) + "\n");
+    assertThat(content, not(containsString("id:" + epoch + "-" + lastSequence + "\n")));
+    assertThat(content, not(containsString("event:reset")));
+  }
+
+  @Test
+  void streamEventsAfterLastEventIdOfPreviousStartup() throws Exception {
+    when(clientRepository.deactivateClient(testClient.getId())).thenReturn(1);
+    final var subscription =
+        mockMvc
+            .perform(get("/api/v1/clients/events").with(httpBasic("admin", "admin")))
+            .andReturn();
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")));
+    perform(delete("/api/v1/clients/1").with(httpBasic("admin", "admin")));
+    final var matcher =
+        Pattern.compile("id:(\\w+)-(\\d+)").matcher(awaitContent(subscription, "event:deleted"));
+    assertTrue(matcher.find());
+
+    // A sequence number the current epoch has already passed, issued before a restart.
+    final var resumed =
+        mockMvc
+            .perform(
+                get("/api/v1/clients/events")
+                    .header("Last-Event-ID", "0-" + (Long.parseLong(matcher.group(2)) - 1))
+                    .with(httpBasic("admin", "admin")))
+            .andReturn();
+
+    final var content = awaitContent(resumed, "event:reset");
+    assertThat(content, not(containsString("event:deleted")));
+  }
+
+  @Test
+  void streamEventsAfterUnknownLastEventId() throws Exception {
+    final var subscription =
+        mockMvc
+            .perform(
+                get("/api/v1/clients/events")
+                    .header("Last-Event-ID", Long.MAX_VALUE)
+                    .with(httpBasic("admin", "admin")))
+            .andReturn();
+
+    awaitContent(subscription, "event:reset");
+  }
 }
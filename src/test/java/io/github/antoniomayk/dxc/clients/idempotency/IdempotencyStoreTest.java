@@ -0,0 +1,167 @@
+package io.github.antoniomayk.dxc.clients.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.antoniomayk.dxc.clients.config.CacheConfig;
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.exception.IdempotencyKeyMismatchException;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "clients.idempotency.table-enabled=true")
+@ActiveProfiles("test")
+class IdempotencyStoreTest {
+  private static final String EMAIL = "jane.doe@idempotency.example.com";
+
+  @Autowired private IdempotencyStore idempotencyStore;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private CacheManager cacheManager;
+
+  private ClientDto clientDto;
+
+  @BeforeEach
+  void setUp() {
+    clientDto = new ClientDto();
+    clientDto.setFullName("Jane Doe");
+    clientDto.setEmail(EMAIL);
+    clientDto.setPhoneNumber("+5588988397489");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM clients WHERE email = ?", EMAIL);
+    jdbcTemplate.update("DELETE FROM clients_idempotency_keys");
+  }
+
+  private long clients() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM clients WHERE email = ?", Long.class, EMAIL);
+  }
+
+  @Test
+  void createClient_WithSameKey_ShouldCreateClientOnce() throws Exception {
+    final var key = UUID.randomUUID().toString();
+
+    final var created = idempotencyStore.createClient(key, clientDto).get();
+    final var replayed = idempotencyStore.createClient(key, clientDto).get();
+
+    assertFalse(created.isReplayed());
+    assertTrue(replayed.isReplayed());
+    assertEquals(created.getClient().getId(), replayed.getClient().getId());
+    assertEquals(1, clients());
+    assertEquals(
+        1,
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM clients_idempotency_keys WHERE idempotency_key = ?",
+            Long.class,
+            "SPRING_API:" + key));
+  }
+
+  @Test
+  void createClient_WithConcurrentRequests_ShouldCreateClientOnce() throws Exception {
+    final var key = UUID.randomUUID().toString();
+    final var pool = Executors.newFixedThreadPool(8);
+    try {
+      final var outcomes = new ArrayList<CompletableFuture<IdempotencyStore.Outcome>>();
+      for (int i = 0; i < 32; i++) {
+        outcomes.add(
+            CompletableFuture.supplyAsync(() -> idempotencyStore.createClient(key, clientDto), pool)
+                .thenCompose(outcome -> outcome));
+      }
+      final var ids =
+          outcomes.stream()
+              .map(CompletableFuture::join)
+              .map(outcome -> outcome.getClient().getId())
+              .collect(Collectors.toSet());
+
+      assertEquals(1, ids.size());
+      assertEquals(1, outcomes.stream().filter(o -> !o.join().isReplayed()).count());
+      assertEquals(1, clients());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void createClient_WithSameKeyAndDifferentClient_ShouldFail() throws Exception {
+    final var key = UUID.randomUUID().toString();
+    idempotencyStore.createClient(key, clientDto).get();
+    clientDto.setFullName("John Doe");
+
+    final var failure =
+        assertThrows(
+            ExecutionException.class, () -> idempotencyStore.createClient(key, clientDto).get());
+
+    assertTrue(failure.getCause() instanceof IdempotencyKeyMismatchException);
+    assertEquals(1, clients());
+  }
+
+  @Test
+  void createClient_WithKeyStoredByAnotherInstance_ShouldReplayStoredResponse() throws Exception {
+    final var key = UUID.randomUUID().toString();
+    jdbcTemplate.update(
+        "INSERT INTO clients_idempotency_keys (idempotency_key, fingerprint, response)"
+            + " VALUES (?, ?, ?)",
+        "SPRING_API:" + key,
+        IdempotencyStore.fingerprint(clientDto),
+        "{\"id\":424242,\"fullName\":\"Jane Doe\",\"email\":\"" + EMAIL + "\"}");
+
+    final var outcome = idempotencyStore.createClient(key, clientDto).get();
+
+    assertTrue(outcome.isReplayed());
+    assertEquals(424242L, outcome.getClient().getId());
+    assertEquals(0, clients());
+  }
+
+  @Test
+  void createClient_WithInvalidClient_ShouldReleaseKey() throws Exception {
+    final var key = UUID.randomUUID().toString();
+    clientDto.setEmail("not-an-email");
+
+    assertThrows(
+        ExecutionException.class, () -> idempotencyStore.createClient(key, clientDto).get());
+    clientDto.setEmail(EMAIL);
+    final var outcome = idempotencyStore.createClient(key, clientDto).get();
+
+    assertFalse(outcome.isReplayed());
+    assertEquals(1, clients());
+  }
+
+  @Test
+  void createClient_WithKeyFailingToBeStored_ShouldNotCacheRolledBackClient() {
+    final var key = "k".repeat(600);
+    cacheManager.getCache(CacheConfig.CLIENTS_CACHE).clear();
+
+    final var error =
+        assertThrows(
+            ExecutionException.class, () -> idempotencyStore.createClient(key, clientDto).get());
+
+    assertTrue(error.getCause() instanceof DataIntegrityViolationException);
+    assertEquals(0, clients());
+    final var cache = cacheManager.getCache(CacheConfig.CLIENTS_CACHE).getNativeCache();
+    assertTrue(
+        ((Cache<?, ?>) cache)
+            .asMap().values().stream()
+                .noneMatch(client -> EMAIL.equals(((Client) client).getEmail())));
+  }
+}
@@ -0,0 +1,206 @@
+package io.github.antoniomayk.dxc.clients.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class ClientJournalTest {
+  @TempDir Path directory;
+
+  private ClientProperties clientProperties;
+  private SimpleMeterRegistry meterRegistry;
+  private ClientJournal journal;
+
+  @BeforeEach
+  void setUp() {
+    clientProperties = new ClientProperties();
+    clientProperties.getJournal().setEnabled(true);
+    clientProperties.getJournal().setDirectory(directory);
+    clientProperties.getJournal().setFlushInterval(Duration.ZERO);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (journal != null) {
+      journal.destroy();
+    }
+  }
+
+  private ClientJournal open() throws IOException {
+    journal = new ClientJournal(clientProperties, meterRegistry);
+    return journal;
+  }
+
+  private static JournalRecord record(long clientId, String fullName) {
+    return new JournalRecord(
+        -1,
+        ClientChangedEvent.Type.CREATED,
+        clientId,
+        Instant.parse("2024-01-01T10:15:30.123456Z"),
+        "admin",
+        fullName,
+        "john.doe@example.com",
+        "+5588988397489");
+  }
+
+  private static List<JournalRecord> readAll(JournalReader reader) {
+    final var records = new ArrayList<JournalRecord>();
+    for (var record = reader.poll(); record != null; record = reader.poll()) {
+      records.add(record);
+    }
+    return records;
+  }
+
+  @Test
+  void append_ShouldBeReadBackFromItsOffset() throws IOException {
+    open();
+
+    final var first = journal.append(record(1L, "João da Silva"));
+    final var second = journal.append(record(2L, "Jane Doe"));
+
+    final var records = readAll(journal.reader(first));
+    assertEquals(2, records.size());
+    assertEquals(first, records.get(0).getOffset());
+    assertEquals(second, records.get(1).getOffset());
+    assertEquals("João da Silva", records.get(0).getFullName());
+    assertEquals("admin", records.get(0).getAuditor());
+    assertEquals(Instant.parse("2024-01-01T10:15:30.123456Z"), records.get(0).getTimestamp());
+    assertEquals(2L, records.get(1).getClientId());
+  }
+
+  @Test
+  void onClientChanged_ShouldAppendDeletionWithoutFields() throws IOException {
+    open();
+    final var client = new Client();
+    client.setId(1L);
+    client.setFullName("John Doe");
+    client.setCreatedBy("admin");
+
+    journal.onClientChanged(ClientChangedEvent.created(client));
+    journal.onClientChanged(ClientChangedEvent.deleted(1L, "auditor"));
+
+    final var records = readAll(journal.reader(0));
+    assertEquals(ClientChangedEvent.Type.CREATED, records.get(0).getType());
+    assertEquals("John Doe", records.get(0).getFullName());
+    assertEquals(ClientChangedEvent.Type.DELETED, records.get(1).getType());
+    assertEquals("auditor", records.get(1).getAuditor());
+    assertNull(records.get(1).getFullName());
+    assertNull(records.get(1).getEmail());
+  }
+
+  @Test
+  void reader_ShouldTailNewRecords() throws IOException {
+    open();
+    journal.append(record(1L, "John Doe"));
+    final var reader = journal.reader(0);
+
+    assertEquals(1L, reader.poll().getClientId());
+    assertNull(reader.poll());
+
+    journal.append(record(2L, "Jane Doe"));
+    assertEquals(2L, reader.poll().getClientId());
+    assertEquals(journal.endOffset(), reader.position());
+  }
+
+  @Test
+  void append_ShouldRollSegmentsAndDeleteTheOldest() throws IOException {
+    clientProperties.getJournal().setSegmentSize(DataSize.ofBytes(256));
+    clientProperties.getJournal().setRetainedSegments(2);
+    open();
+
+    for (var i = 1L; i <= 20; i++) {
+      journal.append(record(i, "John Doe"));
+    }
+
+    try (var files = Files.list(directory)) {
+      assertEquals(2, files.filter(file -> file.toString().endsWith(".journal")).count());
+    }
+    assertTrue(journal.startOffset() > 0);
+    final var records = readAll(journal.reader(0));
+    assertEquals(journal.startOffset(), records.get(0).getOffset());
+    assertEquals(20L, records.get(records.size() - 1).getClientId());
+    final var ids = records.stream().map(JournalRecord::getClientId).collect(Collectors.toList());
+    for (var i = 1; i < ids.size(); i++) {
+      assertEquals(ids.get(i - 1) + 1, ids.get(i));
+    }
+  }
+
+  @Test
+  void open_ShouldResumeAfterTheLastRecord() throws IOException {
+    open().append(record(1L, "John Doe"));
+    final var end = journal.endOffset();
+    journal.destroy();
+
+    open();
+    assertEquals(end, journal.endOffset());
+    journal.append(record(2L, "Jane Doe"));
+
+    final var records = readAll(journal.reader(0));
+    assertEquals(2, records.size());
+    assertEquals(end, records.get(1).getOffset());
+  }
+
+  @Test
+  void open_WithTornRecord_ShouldResumeInNewSegment() throws IOException {
+    open().append(record(1L, "John Doe"));
+    final var end = journal.endOffset();
+    journal.destroy();
+    try (var channel =
+        FileChannel.open(
+            directory.resolve(String.format("%020d.journal", 0)), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 64, 1, 2, 3}), end);
+    }
+
+    open();
+    assertEquals(end, journal.endOffset());
+    journal.append(record(2L, "Jane Doe"));
+
+    final var records = readAll(journal.reader(0));
+    assertEquals(2, records.size());
+    assertEquals(2L, records.get(1).getClientId());
+    assertTrue(Files.exists(directory.resolve(String.format("%020d.journal", end))));
+  }
+
+  @Test
+  void open_WhenDirectoryInUse_ShouldFail() throws IOException {
+    open();
+
+    assertThrows(
+        IllegalStateException.class, () -> new ClientJournal(clientProperties, meterRegistry));
+  }
+
+  @Test
+  void append_WhenDisabled_ShouldFail() throws IOException {
+    clientProperties.getJournal().setEnabled(false);
+    open();
+
+    journal.onClientChanged(ClientChangedEvent.deleted(1L, "admin"));
+    assertThrows(IllegalStateException.class, () -> journal.append(record(1L, "John Doe")));
+    try (var files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+}
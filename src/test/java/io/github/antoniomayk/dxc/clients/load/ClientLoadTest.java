@@ -0,0 +1,233 @@
+package io.github.antoniomayk.dxc.clients.load;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.antoniomayk.dxc.clients.dto.TokenResponse;
+import io.github.antoniomayk.dxc.clients.service.ClientDataGenerator;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Reproducible load test of the client endpoints. It starts the application on a random port, seeds
+ * {@code load.clients} clients, exchanges the configured credentials for an access token and drives
+ * a mix of create, update, delete and list requests at a fixed arrival rate with {@link
+ * LoadDriver}. The run fails if an operation breaches its SLO.
+ *
+ * <p>Excluded from the default build, run it with:
+ *
+ * <pre>
+ * mvn test -Dgroups=load -DexcludedGroups= -Dload.rate=200 -Dload.duration=60
+ * </pre>
+ *
+ * <p>Settings, as system properties:
+ *
+ * <ul>
+ *   <li>{@code load.rate}: requests started per second (100)
+ *   <li>{@code load.duration} and {@code load.warmup}: measured and warm-up seconds (30, 10)
+ *   <li>{@code load.mix}: weight of each operation ({@code create:20,update:20,delete:10,list:50})
+ *   <li>{@code load.seed}: seed of the operation mix and the seeded clients (42)
+ *   <li>{@code load.clients}: number of clients seeded before the run (10000)
+ *   <li>{@code load.max-in-flight}: requests outstanding before new ones count as errors (1000)
+ *   <li>{@code load.slo.p99}: maximum p99 response time of every operation, in milliseconds (500),
+ *       or of a single one with {@code load.slo.<operation>.p99}
+ *   <li>{@code load.slo.error-rate}: maximum share of failed requests of every operation (0.01)
+ * </ul>
+ *
+ * <p>The full percentile distribution of each operation is written to {@code
+ * target/load/<operation>.hgrm}, which can be plotted with the HdrHistogram plotter.
+ *
+ * <p>All requests are sent by a single user, so its rate limit is disabled. The concurrency limit
+ * still applies, and the requests it sheds count as errors.
+ */
+@Tag("load")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "clients.rate-limit.enabled=false")
+@ActiveProfiles("test")
+class ClientLoadTest {
+  private static final String CLIENTS_PATH = "/api/v1/clients";
+
+  @LocalServerPort private int port;
+
+  @Autowired private ClientDataGenerator clientDataGenerator;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+  private final AtomicLong sequence = new AtomicLong();
+  private final ConcurrentLinkedDeque<Long> deletableIds = new ConcurrentLinkedDeque<>();
+
+  private String authorization;
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty("load." + name, defaultValue);
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .timeout(Duration.ofSeconds(30))
+        .header("Authorization", authorization);
+  }
+
+  private String clientJson() {
+    final var n = sequence.incrementAndGet();
+    return String.format(
+        "{\"fullName\":\"Load Client %d\",\"email\":\"load.%d@example.com\","
+            + "\"phoneNumber\":\"+5588988397489\"}",
+        n, n);
+  }
+
+  private String authenticate() throws IOException, InterruptedException {
+    final var credentials = property("username", "admin") + ":" + property("password", "admin");
+    final var response =
+        httpClient.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/token"))
+                .header(
+                    "Authorization",
+                    "Basic "
+                        + Base64.getEncoder()
+                            .encodeToString(credentials.getBytes(StandardCharsets.UTF_8)))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    assertTrue(response.statusCode() == 200, "Could not authenticate: " + response.statusCode());
+    return "Bearer "
+        + objectMapper.readValue(response.body(), TokenResponse.class).getAccessToken();
+  }
+
+  private List<LoadDriver.Operation> operations(List<Long> seededIds, Random random) {
+    final var weights = new HashMap<String, Integer>();
+    for (final var entry : property("mix", "create:20,update:20,delete:10,list:50").split(",")) {
+      final var parts = entry.trim().split(":");
+      weights.put(parts[0], Integer.parseInt(parts[1]));
+    }
+
+    final var operations = new ArrayList<LoadDriver.Operation>();
+    operations.add(
+        new LoadDriver.Operation(
+            "create",
+            weights.getOrDefault("create", 0),
+            201,
+            () ->
+                request(CLIENTS_PATH)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(clientJson()))
+                    .build()));
+    operations.add(
+        new LoadDriver.Operation(
+            "update",
+            weights.getOrDefault("update", 0),
+            200,
+            () ->
+                request(CLIENTS_PATH + "/" + seededIds.get(random.nextInt(seededIds.size())))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(clientJson()))
+                    .build()));
+    operations.add(
+        new LoadDriver.Operation(
+            "delete",
+            weights.getOrDefault("delete", 0),
+            200,
+            () -> {
+              final var clientId = deletableIds.pollFirst();
+              return clientId == null
+                  ? null
+                  : request(CLIENTS_PATH + "/" + clientId).DELETE().build();
+            }));
+    operations.add(
+        new LoadDriver.Operation(
+            "list",
+            weights.getOrDefault("list", 0),
+            200,
+            () -> request(CLIENTS_PATH + "?limit=50").GET().build()));
+    operations.removeIf(operation -> operation.weight == 0);
+    return operations;
+  }
+
+  @Test
+  void clientEndpointsMeetTheirSlos() throws Exception {
+    final var seed = Long.parseLong(property("seed", "42"));
+    final var rate = Double.parseDouble(property("rate", "100"));
+    final var duration = TimeUnit.SECONDS.toNanos(Long.parseLong(property("duration", "30")));
+    final var warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(property("warmup", "10")));
+
+    clientDataGenerator.generate(Long.parseLong(property("clients", "10000")), seed, 0);
+    final var seededIds = jdbcTemplate.queryForList("SELECT id FROM clients", Long.class);
+    authorization = authenticate();
+    // Half of the seeded clients can be deleted, the other half updated.
+    deletableIds.addAll(seededIds.subList(0, seededIds.size() / 2));
+    final var updatableIds = seededIds.subList(seededIds.size() / 2, seededIds.size());
+
+    final var driver =
+        new LoadDriver(
+            httpClient,
+            operations(updatableIds, new Random(seed)),
+            seed,
+            Integer.parseInt(property("max-in-flight", "1000")));
+    driver.run(rate, warmup);
+    driver.operations().values().forEach(LoadDriver.Operation::reset);
+    final var elapsed = driver.run(rate, duration);
+
+    System.out.printf(
+        "Load test at %.0f req/s for %d s:%n%s%n",
+        rate, TimeUnit.NANOSECONDS.toSeconds(elapsed), driver.report(elapsed));
+    final var reports = Path.of("target", "load");
+    Files.createDirectories(reports);
+    for (final var operation : driver.operations().values()) {
+      try (var out = new PrintStream(reports.resolve(operation.name + ".hgrm").toFile())) {
+        operation.responseTimes.outputPercentileDistribution(out, 1000.0);
+      }
+    }
+
+    final var defaultP99 = property("slo.p99", "500");
+    final var maxErrorRate = Double.parseDouble(property("slo.error-rate", "0.01"));
+    final var checks = new ArrayList<Executable>();
+    for (final var operation : driver.operations().values()) {
+      final var maxP99 = Double.parseDouble(property("slo." + operation.name + ".p99", defaultP99));
+      checks.add(
+          () ->
+              assertTrue(
+                  operation.responseMillisAt(99) <= maxP99,
+                  String.format(
+                      "%s p99 of %.2f ms exceeds %.0f ms",
+                      operation.name, operation.responseMillisAt(99), maxP99)));
+      checks.add(
+          () ->
+              assertTrue(
+                  operation.errorRate() <= maxErrorRate,
+                  String.format(
+                      "%s error rate of %.4f exceeds %.4f",
+                      operation.name, operation.errorRate(), maxErrorRate)));
+    }
+    assertAll(checks);
+  }
+}
@@ -0,0 +1,198 @@
+package io.github.antoniomayk.dxc.clients.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model HTTP load driver: requests are started at a fixed arrival rate, whether or not the
+ * previous ones have completed, as real users would.
+ *
+ * <p>The response time of each request is measured from the time it was scheduled to start, not
+ * from the time it was actually sent. When the server or the driver falls behind, the time requests
+ * spent waiting to be sent is therefore included, which corrects the coordinated omission of
+ * closed-model tools. The service time, measured from the actual send, is recorded as well.
+ *
+ * <p>Operations are chosen at random by weight, with a seeded {@link Random}, so runs are
+ * reproducible. At most {@code maxInFlight} requests can be outstanding; requests scheduled beyond
+ * that are counted as errors instead of being queued.
+ */
+class LoadDriver {
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+  /** An operation of the mix, building the request to send for each arrival. */
+  static final class Operation {
+    final String name;
+    final int weight;
+    final Supplier<HttpRequest> request;
+    final int expectedStatus;
+    final Histogram responseTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final LongAdder errors = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+
+    Operation(String name, int weight, int expectedStatus, Supplier<HttpRequest> request) {
+      this.name = name;
+      this.weight = weight;
+      this.expectedStatus = expectedStatus;
+      this.request = request;
+    }
+
+    long count() {
+      return responseTimes.getTotalCount();
+    }
+
+    double errorRate() {
+      final var total = count() + errors.sum();
+      return total == 0 ? 0 : (double) errors.sum() / total;
+    }
+
+    double responseMillisAt(double percentile) {
+      return responseTimes.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    void reset() {
+      responseTimes.reset();
+      serviceTimes.reset();
+      errors.reset();
+      skipped.reset();
+    }
+  }
+
+  private final HttpClient httpClient;
+  private final List<Operation> operations;
+  private final int totalWeight;
+  private final Random random;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+
+  LoadDriver(HttpClient httpClient, List<Operation> operations, long seed, int maxInFlight) {
+    this.httpClient = httpClient;
+    this.operations = operations;
+    this.totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+    this.random = new Random(seed);
+    this.maxInFlight = maxInFlight;
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  private Operation nextOperation() {
+    var pick = random.nextInt(totalWeight);
+    for (final var operation : operations) {
+      pick -= operation.weight;
+      if (pick < 0) {
+        return operation;
+      }
+    }
+    throw new IllegalStateException("Operation weights changed");
+  }
+
+  /**
+   * Sends requests at the given rate for the given time, then waits for the outstanding ones.
+   *
+   * @param ratePerSecond the number of requests started per second
+   * @param durationNanos how long to send requests for
+   * @return the actual duration of the run, in nanoseconds
+   */
+  long run(double ratePerSecond, long durationNanos) {
+    final var intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    final var start = System.nanoTime();
+    for (var intended = start; intended < start + durationNanos; intended += intervalNanos) {
+      final var wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      final var operation = nextOperation();
+      final var request = operation.request.get();
+      if (request == null) {
+        operation.skipped.increment();
+        continue;
+      }
+      if (!inFlight.tryAcquire()) {
+        operation.errors.increment();
+        continue;
+      }
+
+      final var scheduledAt = intended;
+      final var sentAt = System.nanoTime();
+      httpClient
+          .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete(
+              (response, error) -> {
+                final var completedAt = System.nanoTime();
+                if (error != null || response.statusCode() != operation.expectedStatus) {
+                  operation.errors.increment();
+                } else {
+                  operation.responseTimes.recordValue(
+                      Math.min((completedAt - scheduledAt) / 1000, HIGHEST_TRACKABLE_MICROS));
+                  operation.serviceTimes.recordValue(
+                      Math.min((completedAt - sentAt) / 1000, HIGHEST_TRACKABLE_MICROS));
+                }
+                inFlight.release();
+              });
+    }
+    inFlight.acquireUninterruptibly(maxInFlight);
+    inFlight.release(maxInFlight);
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Formats the throughput and latency percentiles of every operation, in milliseconds.
+   *
+   * @param durationNanos the duration of the measured run
+   * @return one line per operation, after a header
+   */
+  String report(long durationNanos) {
+    final var seconds = durationNanos / 1e9;
+    final var lines = new LinkedHashMap<String, String>();
+    lines.put(
+        "header",
+        String.format(
+            "%-8s %8s %7s %7s %9s %8s %8s %8s %8s %8s %12s",
+            "op",
+            "count",
+            "errors",
+            "skipped",
+            "req/s",
+            "p50",
+            "p90",
+            "p99",
+            "p99.9",
+            "max",
+            "service p99"));
+    for (final var operation : operations) {
+      lines.put(
+          operation.name,
+          String.format(
+              "%-8s %8d %7d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %12.2f",
+              operation.name,
+              operation.count(),
+              operation.errors.sum(),
+              operation.skipped.sum(),
+              operation.count() / seconds,
+              operation.responseMillisAt(50),
+              operation.responseMillisAt(90),
+              operation.responseMillisAt(99),
+              operation.responseMillisAt(99.9),
+              operation.responseTimes.getMaxValue() / 1000.0,
+              operation.serviceTimes.getValueAtPercentile(99) / 1000.0));
+    }
+    return String.join(System.lineSeparator(), lines.values());
+  }
+
+  Map<String, Operation> operations() {
+    final var byName = new LinkedHashMap<String, Operation>();
+    operations.forEach(operation -> byName.put(operation.name, operation));
+    return byName;
+  }
+}
@@ -0,0 +1,94 @@
+package io.github.antoniomayk.dxc.clients.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+  private final AtomicLong clock = new AtomicLong();
+  private ClientProperties.ConcurrencyLimit properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ClientProperties().getConcurrencyLimit();
+    properties.setInitialLimit(10);
+    properties.setMinLimit(2);
+    properties.setMaxLimit(20);
+    properties.setLatencyThreshold(Duration.ofMillis(100));
+    properties.setBackoffRatio(0.5);
+  }
+
+  private static List<ConcurrencyLimiter.Permit> acquire(ConcurrencyLimiter limiter, int permits) {
+    final var acquired = new ArrayList<ConcurrencyLimiter.Permit>();
+    for (int i = 0; i < permits; i++) {
+      final var permit = limiter.tryAcquire();
+      assertNotNull(permit);
+      acquired.add(permit);
+    }
+    return acquired;
+  }
+
+  @Test
+  void tryAcquire_AtLimit_ShouldRejectUntilPermitIsReleased() {
+    final var limiter = new ConcurrencyLimiter(properties, clock::get);
+    final var permits = acquire(limiter, 10);
+
+    assertNull(limiter.tryAcquire());
+
+    permits.get(0).onIgnore();
+    permits.get(0).onIgnore();
+    assertEquals(9, limiter.getInFlight());
+    assertNotNull(limiter.tryAcquire());
+    assertNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void onSuccess_WithLimitInUse_ShouldIncreaseLimitAdditively() {
+    final var limiter = new ConcurrencyLimiter(properties, clock::get);
+    final var permits = acquire(limiter, 10);
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+    permits.forEach(ConcurrencyLimiter.Permit::onSuccess);
+
+    assertEquals(10, limiter.getLimit());
+    acquire(limiter, 10).forEach(ConcurrencyLimiter.Permit::onSuccess);
+    assertEquals(11, limiter.getLimit());
+  }
+
+  @Test
+  void onSuccess_WithLimitMostlyUnused_ShouldKeepLimit() {
+    final var limiter = new ConcurrencyLimiter(properties, clock::get);
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire().onSuccess();
+    }
+
+    assertEquals(10, limiter.getLimit());
+  }
+
+  @Test
+  void slowOrDroppedRequests_ShouldDecreaseLimitMultiplicatively() {
+    final var limiter = new ConcurrencyLimiter(properties, clock::get);
+
+    final var slow = limiter.tryAcquire();
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+    slow.onSuccess();
+    assertEquals(5, limiter.getLimit());
+
+    limiter.tryAcquire().onDropped();
+    assertEquals(2, limiter.getLimit());
+
+    limiter.tryAcquire().onDropped();
+    assertEquals(2, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+}
@@ -0,0 +1,72 @@
+package io.github.antoniomayk.dxc.clients.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PrincipalRateLimiterTest {
+  private final AtomicLong clock = new AtomicLong();
+  private ClientProperties.RateLimit properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ClientProperties().getRateLimit();
+    properties.setRequestsPerSecond(10);
+    properties.setBurst(3);
+  }
+
+  @Test
+  void tryAcquire_BeyondBurst_ShouldReturnTimeUntilNextToken() {
+    final var rateLimiter = new PrincipalRateLimiter(properties, clock::get);
+
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("admin"));
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(60), rateLimiter.tryAcquire("admin"));
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("admin"));
+  }
+
+  @Test
+  void tryAcquire_ShouldLimitEveryPrincipalSeparately() {
+    final var rateLimiter = new PrincipalRateLimiter(properties, clock::get);
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.tryAcquire("admin");
+    }
+
+    assertEquals(0, rateLimiter.tryAcquire("other"));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("admin"));
+  }
+
+  @Test
+  void tryAcquire_AfterIdlePeriod_ShouldRefillBurstOnly() {
+    final var rateLimiter = new PrincipalRateLimiter(properties, clock::get);
+    rateLimiter.tryAcquire("admin");
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(0, rateLimiter.tryAcquire("admin"));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("admin"));
+  }
+
+  @Test
+  void tryAcquire_WhenDisabled_ShouldAllowEveryRequest() {
+    properties.setEnabled(false);
+    final var rateLimiter = new PrincipalRateLimiter(properties, clock::get);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, rateLimiter.tryAcquire("admin"));
+    }
+  }
+}
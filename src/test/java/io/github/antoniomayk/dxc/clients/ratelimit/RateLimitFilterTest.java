@@ -0,0 +1,71 @@
+package io.github.antoniomayk.dxc.clients.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(
+    properties = {
+      "clients.async.enabled=true",
+      "clients.rate-limit.requests-per-second=0.1",
+      "clients.rate-limit.burst=3"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ConcurrencyLimiter concurrencyLimiter;
+
+  private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+    final var resultActions = mockMvc.perform(requestBuilder);
+    final var result = resultActions.andReturn();
+    return result.getRequest().isAsyncStarted()
+        ? mockMvc.perform(asyncDispatch(result))
+        : resultActions;
+  }
+
+  @Test
+  void requestsBeyondBurst_ShouldBeRejectedWithTooManyRequests() throws Exception {
+    final var user = jwt().jwt(token -> token.subject("burst"));
+    for (int i = 0; i < 3; i++) {
+      perform(get("/api/v1/clients").with(user)).andExpect(status().isOk());
+    }
+
+    perform(get("/api/v1/clients").with(user))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "10"))
+        .andExpect(jsonPath("$.message").value("Too many requests, please slow down"));
+    perform(get("/api/v1/clients").with(jwt().jwt(token -> token.subject("other"))))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void asyncRequests_ShouldReleaseTheirPermits() throws Exception {
+    perform(get("/api/v1/clients").with(httpBasic("admin", "admin"))).andExpect(status().isOk());
+
+    assertEquals(0, concurrencyLimiter.getInFlight());
+  }
+
+  @Test
+  void unauthenticatedRequests_ShouldNotBeLimited() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      perform(get("/api/v1/clients")).andExpect(status().isUnauthorized());
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package io.github.antoniomayk.dxc.clients.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.antoniomayk.dxc.clients.service.ClientDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Checks the plans of the queries run against the {@code clients} tables, so a query or migration
+ * that stops using an index fails the build instead of turning into a full scan in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientQueryPlanTest {
+  private static final String PRIMARY_KEY = "PRIMARY_KEY_";
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private ClientDataGenerator clientDataGenerator;
+
+  @BeforeEach
+  void setUp() {
+    final var clients = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clients", Long.class);
+    if (clients < 1000) {
+      clientDataGenerator.generate(1000, 42L, 1);
+    }
+    jdbcTemplate.execute("ANALYZE");
+  }
+
+  private void assertUsesIndex(String index, String sql) {
+    final var plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    assertFalse(plan.contains("tableScan"), () -> "Unexpected table scan in plan:\n" + plan);
+  }
+
+  // Keyset pages must come out of the index already sorted, otherwise every following row is read.
+  private void assertSeeksIndexInOrder(String index, String sql) {
+    assertUsesIndex(index, sql);
+    final var plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    assertTrue(
+        plan.contains("index sorted"), () -> "Expected a sorted index read in plan:\n" + plan);
+  }
+
+  @Test
+  void findActiveClientsAfter_ShouldSeekDeletedAtIndexInOrder() {
+    assertSeeksIndexInOrder(
+        "IDX_CLIENTS_DELETED_AT",
+        "SELECT * FROM clients WHERE deleted_at IS NULL AND id > 500"
+            + " ORDER BY deleted_at, id LIMIT 51");
+  }
+
+  @Test
+  void findDuplicateGroups_ShouldSeekDeletedAtIndexInOrder() {
+    assertSeeksIndexInOrder(
+        "IDX_CLIENTS_DELETED_AT",
+        "SELECT id, full_name, email, phone_number, normalized_phone_number FROM clients"
+            + " WHERE deleted_at IS NULL AND id > 500 ORDER BY deleted_at, id LIMIT 10000");
+  }
+
+  @Test
+  void findActiveClientsById_ShouldSeekPrimaryKey() {
+    assertUsesIndex(
+        PRIMARY_KEY, "SELECT * FROM clients WHERE id IN (1, 2, 3) AND deleted_at IS NULL");
+  }
+
+  @Test
+  void streamAllActiveClients_ShouldScanDeletedAtIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_DELETED_AT", "SELECT * FROM clients WHERE deleted_at IS NULL ORDER BY id");
+  }
+
+  @Test
+  void findById_ShouldSeekPrimaryKey() {
+    assertUsesIndex(PRIMARY_KEY, "SELECT * FROM clients WHERE id = 1");
+    assertUsesIndex(PRIMARY_KEY, "SELECT * FROM clients WHERE id IN (1, 2, 3)");
+  }
+
+  // Updates of active clients match both columns of the index, a single entry like the primary key.
+  @Test
+  void updateActiveClient_ShouldSeekDeletedAtIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_DELETED_AT",
+        "UPDATE clients SET full_name = 'Jane Doe', modified_at = CURRENT_TIMESTAMP"
+            + " WHERE id = 1 AND deleted_at IS NULL");
+  }
+
+  @Test
+  void deactivateClient_ShouldSeekDeletedAtIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_DELETED_AT",
+        "UPDATE clients SET deleted_at = CURRENT_TIMESTAMP WHERE id = 1 AND deleted_at IS NULL");
+  }
+
+  @Test
+  void isArchived_ShouldSeekArchivePrimaryKey() {
+    assertUsesIndex(PRIMARY_KEY, "SELECT COUNT(*) > 0 FROM clients_archive WHERE id = 1");
+  }
+
+  @Test
+  void archive_ShouldSeekDeletedAtIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_DELETED_AT",
+        "SELECT id FROM clients WHERE deleted_at < TIMESTAMP '2020-01-01 00:00:00'"
+            + " ORDER BY deleted_at, id LIMIT 500");
+    assertUsesIndex(
+        "IDX_CLIENTS_DELETED_AT",
+        "SELECT MIN(deleted_at) FROM clients WHERE deleted_at IS NOT NULL");
+  }
+
+  @Test
+  void findByEmail_ShouldSeekEmailIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_EMAIL",
+        "SELECT * FROM clients WHERE email = 'john.doe@example.com' AND deleted_at IS NULL");
+  }
+
+  @Test
+  void findByPhoneNumber_ShouldSeekNormalizedPhoneNumberIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_NORMALIZED_PHONE_NUMBER",
+        "SELECT * FROM clients WHERE normalized_phone_number = '+5588988397489'"
+            + " AND deleted_at IS NULL");
+  }
+
+  @Test
+  void findModifiedSince_ShouldSeekModifiedAtIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_MODIFIED_AT",
+        "SELECT * FROM clients WHERE modified_at > TIMESTAMP '2030-01-01 00:00:00'");
+  }
+
+  @Test
+  void findIdempotencyKey_ShouldSeekPrimaryKey() {
+    assertUsesIndex(
+        PRIMARY_KEY,
+        "SELECT fingerprint, response FROM clients_idempotency_keys WHERE idempotency_key ="
+            + " 'admin:key' AND created_at >= TIMESTAMP '2030-01-01 00:00:00'");
+  }
+
+  @Test
+  void cleanUpIdempotencyKeys_ShouldSeekCreatedAtIndex() {
+    assertUsesIndex(
+        "IDX_CLIENTS_IDEMPOTENCY_KEYS_CREATED_AT",
+        "DELETE FROM clients_idempotency_keys WHERE created_at < TIMESTAMP '2030-01-01 00:00:00'");
+  }
+}
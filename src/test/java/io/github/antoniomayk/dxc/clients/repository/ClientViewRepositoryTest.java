@@ -0,0 +1,86 @@
+package io.github.antoniomayk.dxc.clients.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientViewRepositoryTest {
+  private static final String EMAIL_PATTERN = "views.%@example.com";
+
+  @Autowired private ClientRepository clientRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private List<Long> clientIds;
+
+  @BeforeEach
+  void setUp() {
+    for (var i = 0; i < 4; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO clients (full_name, email, phone_number, normalized_phone_number,"
+              + " deleted_at) VALUES (?, ?, ?, ?, ?)",
+          "View Client " + i,
+          "views." + i + "@example.com",
+          "(88) 98839-7489",
+          i == 0 ? "+5588988397489" : null,
+          i == 1 ? Timestamp.valueOf("2023-06-15 10:30:00") : null);
+    }
+    clientIds =
+        jdbcTemplate.queryForList(
+            "SELECT id FROM clients WHERE email LIKE ? ORDER BY id", Long.class, EMAIL_PATTERN);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM clients WHERE email LIKE ?", EMAIL_PATTERN);
+  }
+
+  private static List<Long> idsOf(List<ClientView> clients) {
+    return clients.stream().map(ClientView::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  void findActiveClientsAfter_ShouldReturnPageOfActiveClientsInIdOrder() {
+    final var clients =
+        clientRepository.findActiveClientsAfter(clientIds.get(0) - 1, PageRequest.of(0, 2));
+
+    assertEquals(List.of(clientIds.get(0), clientIds.get(2)), idsOf(clients));
+    final var client = clients.get(0);
+    assertEquals("View Client 0", client.getFullName());
+    assertEquals("views.0@example.com", client.getEmail());
+    assertEquals("(88) 98839-7489", client.getPhoneNumber());
+    assertEquals("+5588988397489", client.getNormalizedPhoneNumber());
+    assertEquals("INTERNAL", client.getCreatedBy());
+    assertNotNull(client.getCreatedAt());
+    assertEquals("INTERNAL", client.getModifiedBy());
+    assertNotNull(client.getModifiedAt());
+    assertNull(clients.get(1).getNormalizedPhoneNumber());
+  }
+
+  @Test
+  void findActiveClientsById_ShouldSkipDeletedAndUnknownClients() {
+    final var clients = clientRepository.findActiveClientsById(List.of(clientIds.get(3), 0L));
+    assertEquals(List.of(clientIds.get(3)), idsOf(clients));
+
+    assertEquals(
+        List.of(clientIds.get(0), clientIds.get(2), clientIds.get(3)),
+        idsOf(clientRepository.findActiveClientsById(clientIds)).stream()
+            .sorted()
+            .collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,134 @@
+package io.github.antoniomayk.dxc.clients.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
+import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClientSearchIndexTest {
+  private ClientSearchIndex searchIndex;
+
+  @BeforeEach
+  void setUp() {
+    searchIndex = new ClientSearchIndex(null);
+    searchIndex.add(client(1L, "John Doe", "john.doe@example.com"));
+    searchIndex.add(client(2L, "Jane Doe", "jane@example.org"));
+    searchIndex.add(client(3L, "Maria Silva", "maria.silva@example.com"));
+  }
+
+  private static Client client(Long clientId, String fullName, String email) {
+    final var client = new Client();
+    client.setId(clientId);
+    client.setFullName(fullName);
+    client.setEmail(email);
+    return client;
+  }
+
+  private static ClientView view(Long clientId, String fullName, String email) {
+    return new ClientView(clientId, fullName, email, null, null, null, null, null, null);
+  }
+
+  @Test
+  void search_WithSubstringOfFullNameOrEmail_ShouldReturnMatchesIgnoringCase() {
+    assertEquals(List.of(1L, 2L), searchIndex.search("DOE", 10));
+    assertEquals(List.of(3L), searchIndex.search("silva@", 10));
+    assertEquals(List.of(1L, 3L), searchIndex.search(".com", 10));
+  }
+
+  @Test
+  void search_WithShortQuery_ShouldScanIndexedClients() {
+    assertEquals(List.of(3L), searchIndex.search("ri", 10));
+  }
+
+  @Test
+  void search_ShouldNotMatchAcrossFields() {
+    assertTrue(searchIndex.search("doejohn", 10).isEmpty());
+  }
+
+  @Test
+  void search_ShouldStopAtLimit() {
+    assertEquals(1, searchIndex.search("example", 1).size());
+  }
+
+  @Test
+  void onClientChanged_ShouldReindexUpdatedClientsAndDropDeletedOnes() {
+    searchIndex.onClientChanged(
+        ClientChangedEvent.updated(client(1L, "John Smith", "john.smith@example.com")));
+    searchIndex.onClientChanged(ClientChangedEvent.deleted(2L, "admin"));
+
+    assertTrue(searchIndex.search("doe", 10).isEmpty());
+    assertEquals(List.of(1L), searchIndex.search("smith", 10));
+    assertEquals(2, searchIndex.size());
+  }
+
+  @Test
+  void onClientChanged_WithRepeatedUpdates_ShouldKeepPostingListsBounded() {
+    for (var i = 0; i < 1000; i++) {
+      final var fullName = i % 2 == 0 ? "John Smith" : "John Doe";
+      searchIndex.onClientChanged(
+          ClientChangedEvent.updated(client(1L, fullName, "john@example.com")));
+    }
+    searchIndex.onClientChanged(ClientChangedEvent.deleted(2L, "admin"));
+
+    assertEquals(List.of(1L), searchIndex.search("doe", 10));
+    assertTrue(searchIndex.postingSize("doe") <= 2);
+    assertTrue(searchIndex.postingSize("smi") <= 2);
+    assertTrue(searchIndex.postingSize("exa") <= 3);
+  }
+
+  @Test
+  void rebuild_WithClientDeletedWhileReading_ShouldNotAddItBack() {
+    final var clientRepository = mock(ClientRepository.class);
+    final var rebuiltIndex = new ClientSearchIndex(clientRepository);
+    when(clientRepository.findActiveClientsAfter(eq(0L), any()))
+        .thenAnswer(
+            invocation -> {
+              // Committed after the rows were read, delivered before they are indexed.
+              rebuiltIndex.onClientChanged(ClientChangedEvent.deleted(3L, "admin"));
+              return List.of(
+                  view(1L, "Client 1", null),
+                  view(2L, "Client 2", null),
+                  view(3L, "Client 3", null));
+            });
+
+    rebuiltIndex.rebuild();
+
+    assertEquals(List.of(1L, 2L), rebuiltIndex.search("client", 10));
+    assertEquals(2, rebuiltIndex.size());
+  }
+
+  @Test
+  void search_WhileRebuilding_ShouldReturnPreviousResults() {
+    final var clientRepository = mock(ClientRepository.class);
+    final var rebuiltIndex = new ClientSearchIndex(clientRepository);
+    rebuiltIndex.add(client(1L, "John Doe", "john.doe@example.com"));
+    rebuiltIndex.add(client(2L, "Jane Doe", "jane@example.org"));
+    final var duringRebuild = new ArrayList<List<Long>>();
+    when(clientRepository.findActiveClientsAfter(eq(0L), any()))
+        .thenAnswer(
+            invocation -> {
+              duringRebuild.add(rebuiltIndex.search("doe", 10));
+              duringRebuild.add(rebuiltIndex.search("do", 10));
+              return List.of(
+                  view(2L, "Jane Doe", "jane@example.org"),
+                  view(4L, "Richard Doe", "richard@example.net"));
+            });
+
+    rebuiltIndex.rebuild();
+
+    assertEquals(List.of(List.of(1L, 2L), List.of(1L, 2L)), duringRebuild);
+    assertEquals(List.of(2L, 4L), rebuiltIndex.search("doe", 10));
+    assertEquals(2, rebuiltIndex.size());
+  }
+}
@@ -0,0 +1,82 @@
+package io.github.antoniomayk.dxc.clients.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class CachingAuthenticationProviderTest {
+  private AuthenticationProvider delegate;
+  private ClientProperties.CredentialsCache properties;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(AuthenticationProvider.class);
+    properties = new ClientProperties().getSecurity().getCredentialsCache();
+    when(delegate.authenticate(any()))
+        .thenAnswer(
+            invocation -> {
+              final Authentication authentication = invocation.getArgument(0);
+              if (!"admin".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+              }
+              return new UsernamePasswordAuthenticationToken(
+                  "admin", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+            });
+  }
+
+  private static Authentication credentials(String password) {
+    return new UsernamePasswordAuthenticationToken("admin", password);
+  }
+
+  @Test
+  void authenticate_WithSameCredentials_ShouldOnlyVerifyThemOnce() {
+    final var provider = new CachingAuthenticationProvider(delegate, properties);
+
+    provider.authenticate(credentials("admin"));
+    final var result = provider.authenticate(credentials("admin"));
+
+    assertTrue(result.isAuthenticated());
+    assertEquals("admin", result.getName());
+    assertNull(result.getCredentials());
+    assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), result.getAuthorities());
+    verify(delegate, times(1)).authenticate(any());
+  }
+
+  @Test
+  void authenticate_WithDifferentPassword_ShouldVerifyItWithDelegate() {
+    final var provider = new CachingAuthenticationProvider(delegate, properties);
+
+    provider.authenticate(credentials("admin"));
+
+    assertThrows(
+        BadCredentialsException.class, () -> provider.authenticate(credentials("not-admin")));
+    verify(delegate, times(2)).authenticate(any());
+  }
+
+  @Test
+  void authenticate_WithCacheDisabled_ShouldAlwaysVerifyCredentials() {
+    properties.setMaximumSize(0);
+    final var provider = new CachingAuthenticationProvider(delegate, properties);
+
+    provider.authenticate(credentials("admin"));
+    provider.authenticate(credentials("admin"));
+
+    verify(delegate, times(2)).authenticate(any());
+  }
+}
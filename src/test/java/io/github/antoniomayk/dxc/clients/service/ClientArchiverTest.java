@@ -0,0 +1,123 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.exception.ClientDeletedException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientArchiverTest {
+  private static final String EMAIL_PATTERN = "archiver.%@example.com";
+
+  @Autowired private ClientArchiver clientArchiver;
+
+  @Autowired private ClientService clientService;
+
+  @Autowired private ClientProperties clientProperties;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private LocalDateTime cutoff;
+  private int chunkSize;
+  private int maxRowsPerSecond;
+
+  @BeforeEach
+  void setUp() {
+    cutoff = LocalDateTime.now().minusDays(30);
+    chunkSize = clientProperties.getArchive().getChunkSize();
+    maxRowsPerSecond = clientProperties.getArchive().getMaxRowsPerSecond();
+  }
+
+  @AfterEach
+  void tearDown() {
+    clientProperties.getArchive().setChunkSize(chunkSize);
+    clientProperties.getArchive().setMaxRowsPerSecond(maxRowsPerSecond);
+    jdbcTemplate.update("DELETE FROM clients WHERE email LIKE ?", EMAIL_PATTERN);
+    jdbcTemplate.update("DELETE FROM clients_archive WHERE email LIKE ?", EMAIL_PATTERN);
+  }
+
+  private void insertClients(int count, LocalDateTime deletedAt) {
+    for (var i = 0; i < count; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO clients (full_name, email, phone_number, deleted_at) VALUES (?, ?, ?, ?)",
+          "Archived Client",
+          "archiver." + System.nanoTime() + "@example.com",
+          "+5588988397489",
+          deletedAt != null ? Timestamp.valueOf(deletedAt) : null);
+    }
+  }
+
+  private long count(String table, String condition) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM " + table + " WHERE email LIKE ? AND " + condition,
+        Long.class,
+        EMAIL_PATTERN);
+  }
+
+  @Test
+  void archive_ShouldMoveOnlyClientsDeletedBeforeCutoff() throws InterruptedException {
+    clientProperties.getArchive().setChunkSize(7);
+    insertClients(25, cutoff.minusDays(10));
+    insertClients(5, cutoff.plusDays(10));
+    insertClients(5, null);
+
+    assertEquals(25, clientArchiver.archive(cutoff));
+
+    assertEquals(0, count("clients", "deleted_at < '" + Timestamp.valueOf(cutoff) + "'"));
+    assertEquals(5, count("clients", "deleted_at IS NOT NULL"));
+    assertEquals(5, count("clients", "deleted_at IS NULL"));
+    assertEquals(25, count("clients_archive", "archived_at IS NOT NULL"));
+    assertEquals(0, clientArchiver.archive(cutoff));
+  }
+
+  @Test
+  void archive_ShouldKeepArchivedClientsDeleted() throws InterruptedException {
+    insertClients(1, cutoff.minusDays(1));
+    final List<Long> ids =
+        jdbcTemplate.queryForList(
+            "SELECT id FROM clients WHERE email LIKE ?", Long.class, EMAIL_PATTERN);
+
+    clientArchiver.archive(cutoff);
+
+    final var clientId = ids.get(0);
+    assertThrows(ClientDeletedException.class, () -> clientService.getClient(clientId));
+    final var clientDto = new ClientDto();
+    clientDto.setFullName("Jane Doe");
+    clientDto.setEmail("jane.doe@example.com");
+    clientDto.setPhoneNumber("+5588988397489");
+    assertThrows(
+        ClientDeletedException.class, () -> clientService.updateClient(clientId, clientDto));
+    assertNotNull(
+        jdbcTemplate.queryForObject(
+            "SELECT archived_at FROM clients_archive WHERE id = ?", Timestamp.class, clientId));
+  }
+
+  @Test
+  void archive_ShouldBeThrottled() throws InterruptedException {
+    clientProperties.getArchive().setChunkSize(10);
+    clientProperties.getArchive().setMaxRowsPerSecond(100);
+    insertClients(50, cutoff.minusDays(1));
+
+    final var start = System.nanoTime();
+    assertEquals(50, clientArchiver.archive(cutoff));
+
+    // The fifth chunk is the last one, which is not followed by a pause.
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 400);
+  }
+}
@@ -0,0 +1,101 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.exception.GenerationInProgressException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ClientDataGeneratorTest {
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private MessageSource messageSource;
+
+  private ClientDataGenerator generator;
+  private List<List<Object[]>> batches;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    final var clientProperties = new ClientProperties();
+    clientProperties.getGenerator().setBatchSize(100);
+    generator = new ClientDataGenerator(jdbcTemplate, clientProperties, messageSource);
+
+    batches = Collections.synchronizedList(new ArrayList<>());
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenAnswer(
+            invocation -> {
+              final List<Object[]> batch = invocation.getArgument(1);
+              batches.add(batch);
+              return new int[batch.size()];
+            });
+  }
+
+  private List<String> generatedNames() {
+    return batches.stream()
+        .flatMap(List::stream)
+        .map(row -> (String) row[0])
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void generate_ShouldInsertRowsInBoundedBatches() {
+    final var report = generator.generate(1050, 42L, 3);
+
+    assertEquals(1050, report.getRows());
+    assertEquals(42L, report.getSeed());
+    assertEquals(3, report.getThreads());
+    assertEquals(1050, batches.stream().mapToInt(List::size).sum());
+    assertTrue(batches.stream().allMatch(batch -> batch.size() <= 100));
+    assertTrue(
+        batches.stream()
+            .flatMap(List::stream)
+            .allMatch(row -> row.length == 4 && row[0] != null && row[1] != null));
+  }
+
+  @Test
+  void generate_WithSameSeed_ShouldGenerateSameClients() {
+    generator.generate(300, 7L, 2);
+    final var first = generatedNames();
+    batches.clear();
+
+    generator.generate(300, 7L, 2);
+
+    assertEquals(first, generatedNames());
+  }
+
+  @Test
+  void generate_WhenAlreadyRunning_ShouldBeRejected() {
+    when(messageSource.getMessage(anyString(), any(), any())).thenReturn("busy");
+    final var nested = new ArrayList<RuntimeException>();
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenAnswer(
+            invocation -> {
+              nested.add(
+                  assertThrows(
+                      GenerationInProgressException.class, () -> generator.generate(1, 1L, 1)));
+              return new int[0];
+            });
+
+    generator.generate(10, 1L, 1);
+
+    assertEquals(1, nested.size());
+    assertEquals("busy", nested.get(0).getMessage());
+  }
+}
@@ -0,0 +1,132 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.DuplicateGroup;
+import io.github.antoniomayk.dxc.clients.dto.DuplicateGroup.Signal;
+import io.github.antoniomayk.dxc.clients.validator.PhoneNumberValidator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientDeduplicatorTest {
+  @Autowired private ClientDeduplicator clientDeduplicator;
+
+  @Autowired private ClientProperties clientProperties;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final List<Long> clientIds = new ArrayList<>();
+  private int maxBlockSize;
+
+  @BeforeEach
+  void setUp() {
+    maxBlockSize = clientProperties.getDedup().getMaxBlockSize();
+  }
+
+  @AfterEach
+  void tearDown() {
+    clientProperties.getDedup().setMaxBlockSize(maxBlockSize);
+    clientIds.forEach(
+        clientId -> jdbcTemplate.update("DELETE FROM clients WHERE id = ?", clientId));
+  }
+
+  private long insertClient(String fullName, String email, String phoneNumber) {
+    jdbcTemplate.update(
+        "INSERT INTO clients (full_name, email, phone_number, normalized_phone_number)"
+            + " VALUES (?, ?, ?, ?)",
+        fullName,
+        email,
+        phoneNumber,
+        PhoneNumberValidator.toE164(phoneNumber).orElse(null));
+    final var clientId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM clients", Long.class);
+    clientIds.add(clientId);
+    return clientId;
+  }
+
+  private List<DuplicateGroup> groupsOfInsertedClients() {
+    return clientDeduplicator.findDuplicateGroups().stream()
+        .filter(group -> clientIds.containsAll(group.getClientIds()))
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  void keys_ShouldIgnoreFormatting() {
+    assertEquals(
+        ClientDeduplicator.emailKey(" John.Doe@Example.COM "),
+        ClientDeduplicator.emailKey("john.doe@example.com"));
+    assertEquals(
+        ClientDeduplicator.phoneKey("+55 (88) 98839-7489", "+5588988397489"),
+        ClientDeduplicator.phoneKey("5588988397489", null));
+    assertEquals(
+        ClientDeduplicator.phoneKey("(555) 123-4567", null),
+        ClientDeduplicator.phoneKey("555.123.4567", null));
+    assertEquals(
+        ClientDeduplicator.nameKey("José da Silva"), ClientDeduplicator.nameKey("Jose Silva"));
+    assertEquals(
+        ClientDeduplicator.nameKey("Dr. Jon Smyth"), ClientDeduplicator.nameKey("Smith, John"));
+    assertNull(ClientDeduplicator.nameKey("Mr."));
+  }
+
+  @Test
+  void findDuplicateGroups_ShouldGroupClientsMatchingOnTwoSignals() {
+    final var first = insertClient("John Smith", "JOHN.SMITH@dedup.example.com", "+5588988397401");
+    final var second = insertClient("Jon Smyth", "john.smith@dedup.example.com", "+5588988397402");
+    final var third = insertClient("John Smith", "other@dedup.example.com", "+55 88 98839-7402");
+    // Sharing only an email, like family members, is not enough.
+    insertClient("Mary Jones", "family@dedup.example.com", "+5588988397403");
+    insertClient("Peter Jones", "family@dedup.example.com", "+5588988397404");
+
+    final var groups = groupsOfInsertedClients();
+
+    assertEquals(1, groups.size());
+    assertEquals(List.of(first, second, third), groups.get(0).getClientIds());
+    assertEquals(0.8, groups.get(0).getScore(), 1e-9);
+    assertEquals(EnumSet.allOf(Signal.class), groups.get(0).getSignals());
+  }
+
+  @Test
+  void findDuplicateGroups_ShouldSkipOversizedBlocks() {
+    insertClient("John Smith", "john.smith@dedup.example.com", "+5588988397401");
+    insertClient("Jon Smyth", "john.smith@dedup.example.com", "+5588988397402");
+    clientProperties.getDedup().setMaxBlockSize(1);
+
+    assertTrue(groupsOfInsertedClients().isEmpty());
+  }
+
+  @Test
+  void writeDuplicateGroups_ShouldWriteOneGroupPerLine() throws IOException {
+    final var first = insertClient("Ana Souza", "ana.souza@dedup.example.com", "+5588988397405");
+    final var second = insertClient("Anna Sousa", "ana.souza@dedup.example.com", "+5588988397406");
+    final var outputStream = new ByteArrayOutputStream();
+
+    final var count = clientDeduplicator.writeDuplicateGroups(outputStream);
+
+    final var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(count, lines.length);
+    assertTrue(
+        List.of(lines)
+            .contains(
+                "{\"clientIds\":["
+                    + first
+                    + ","
+                    + second
+                    + "],\"score\":0.8,\"signals\":[\"EMAIL\",\"NAME\"]}"));
+  }
+}
@@ -0,0 +1,107 @@
+package io.github.antoniomayk.dxc.clients.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class ClientServiceExecutorTest {
+  private ClientProperties clientProperties;
+  private SimpleMeterRegistry meterRegistry;
+  private ClientServiceExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    clientProperties = new ClientProperties();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (executor != null) {
+      executor.destroy();
+    }
+    SecurityContextHolder.clearContext();
+    LocaleContextHolder.resetLocaleContext();
+  }
+
+  private ClientServiceExecutor asyncExecutor(int poolSize, int queueCapacity) {
+    clientProperties.getAsync().setEnabled(true);
+    clientProperties.getAsync().setPoolSize(poolSize);
+    clientProperties.getAsync().setQueueCapacity(queueCapacity);
+    return new ClientServiceExecutor(clientProperties, null, meterRegistry);
+  }
+
+  @Test
+  void supply_WhenDisabled_ShouldRunOnCallingThread() {
+    executor = new ClientServiceExecutor(clientProperties, null, meterRegistry);
+
+    final var result = executor.supply(() -> Thread.currentThread().getName());
+
+    assertTrue(result.isDone());
+    assertEquals(Thread.currentThread().getName(), result.join());
+  }
+
+  @Test
+  void supply_WhenEnabled_ShouldRunOnPoolWithCallerContexts() throws Exception {
+    executor = asyncExecutor(2, 10);
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken("admin", null));
+    LocaleContextHolder.setLocale(new Locale("pt"));
+
+    final var result =
+        executor
+            .supply(
+                () ->
+                    Thread.currentThread().getName()
+                        + " "
+                        + SecurityContextHolder.getContext().getAuthentication().getName()
+                        + " "
+                        + LocaleContextHolder.getLocale())
+            .get(5, TimeUnit.SECONDS);
+
+    assertNotEquals(Thread.currentThread().getName(), result.split(" ")[0]);
+    assertTrue(result.startsWith("clients-"));
+    assertTrue(result.endsWith(" admin pt"));
+  }
+
+  @Test
+  void supply_WhenSaturated_ShouldRejectAndCountCall() throws Exception {
+    executor = asyncExecutor(1, 1);
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var running =
+        executor.run(
+            () -> {
+              started.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    final var queued = executor.supply(() -> "queued");
+
+    assertThrows(TaskRejectedException.class, () -> executor.supply(() -> "rejected"));
+    assertEquals(1, meterRegistry.get("clients.executor.rejected").counter().count());
+    assertEquals(1, meterRegistry.get("executor.queued").tag("name", "clients").gauge().value());
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+    assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+  }
+}
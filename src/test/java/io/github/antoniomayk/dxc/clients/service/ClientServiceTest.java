@@ -2,33 +2,58 @@ package io.github.antoniomayk.dxc.clients.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.antoniomayk.dxc.clients.config.AuditConfig;
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.BulkItemResult;
 import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.dto.ClientView;
 import io.github.antoniomayk.dxc.clients.entity.Client;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
 import io.github.antoniomayk.dxc.clients.exception.ClientDeletedException;
 import io.github.antoniomayk.dxc.clients.exception.ClientNotFoundException;
+import io.github.antoniomayk.dxc.clients.exception.InvalidCursorException;
 import io.github.antoniomayk.dxc.clients.repository.ClientRepository;
+import io.github.antoniomayk.dxc.clients.search.ClientSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityManager;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
+import javax.validation.Path;
 import javax.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
 
 class ClientServiceTest {
   @Mock private ClientRepository clientRepository;
@@ -37,6 +62,20 @@ class ClientServiceTest {
 
   @Mock private MessageSource messageSource;
 
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock private EntityManager entityManager;
+
+  @Spy private ClientProperties clientProperties = new ClientProperties();
+
+  @Mock private AuditorAware<String> auditorAware;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private ClientSearchIndex searchIndex;
+
+  @Spy private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @InjectMocks private ClientService clientService;
 
   @BeforeEach
@@ -44,15 +83,123 @@ class ClientServiceTest {
     MockitoAnnotations.openMocks(this);
   }
 
+  private static Client clientWithId(Long clientId) {
+    final var client = new Client();
+    client.setId(clientId);
+    return client;
+  }
+
+  private static ClientView viewWithId(Long clientId) {
+    return new ClientView(clientId, null, null, null, null, null, null, null, null);
+  }
+
   @Test
-  void getAllClients_ShouldReturnAllActiveClients() {
-    final var activeClients = Arrays.asList(new Client(), new Client());
-    when(clientRepository.findAllActiveClients()).thenReturn(activeClients);
+  void getClients_WithLastPage_ShouldReturnClientsWithoutNextCursor() {
+    final var activeClients = Arrays.asList(viewWithId(1L), viewWithId(2L));
+    when(clientRepository.findActiveClientsAfter(0L, PageRequest.of(0, 3)))
+        .thenReturn(activeClients);
+
+    final var result = clientService.getClients(2, null);
+
+    assertEquals(2, result.getContent().size());
+    assertNull(result.getNextCursor());
+    final var results = meterRegistry.get("clients.query.results").tag("query", "page").summary();
+    assertEquals(1, results.count());
+    assertEquals(2, results.totalAmount());
+  }
 
-    final var result = clientService.getAllClients();
+  @Test
+  void getClients_WithMoreClients_ShouldReturnCursorResumingAfterLastClient() {
+    final var activeClients = Arrays.asList(viewWithId(1L), viewWithId(2L), viewWithId(3L));
+    when(clientRepository.findActiveClientsAfter(0L, PageRequest.of(0, 3)))
+        .thenReturn(activeClients);
+    when(clientRepository.findActiveClientsAfter(2L, PageRequest.of(0, 3)))
+        .thenReturn(Arrays.asList(viewWithId(3L)));
+
+    final var firstPage = clientService.getClients(2, null);
+    final var secondPage = clientService.getClients(2, firstPage.getNextCursor());
+
+    assertEquals(2, firstPage.getContent().size());
+    assertNotNull(firstPage.getNextCursor());
+    assertEquals(1, secondPage.getContent().size());
+    assertEquals(3L, secondPage.getContent().get(0).getId());
+    assertNull(secondPage.getNextCursor());
+  }
+
+  @Test
+  void getClients_WithInvalidCursor_ShouldThrowInvalidCursorException() {
+    when(messageSource.getMessage(eq("error.InvalidCursorException"), any(Object[].class), any()))
+        .thenReturn("Invalid pagination cursor");
+
+    assertThrows(InvalidCursorException.class, () -> clientService.getClients(2, "not-a-cursor"));
+    verifyNoMoreInteractions(clientRepository);
+  }
+
+  @Test
+  void getClient_WithActiveClient_ShouldReturnClient() {
+    final var client = clientWithId(1L);
+    when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+    assertEquals(client, clientService.getClient(1L));
+  }
+
+  @Test
+  void getClient_WithDeletedClient_ShouldThrowClientDeletedException() {
+    final var client = clientWithId(1L);
+    client.setDeletedAt(LocalDateTime.now());
+    when(clientRepository.findById(1L)).thenReturn(Optional.of(client));
+
+    assertThrows(ClientDeletedException.class, () -> clientService.getClient(1L));
+  }
+
+  @Test
+  void getClient_WithNonExistentClient_ShouldThrowClientNotFoundException() {
+    when(clientRepository.findById(1L)).thenReturn(Optional.empty());
+
+    assertThrows(ClientNotFoundException.class, () -> clientService.getClient(1L));
+  }
+
+  @Test
+  void searchClients_WithMatches_ShouldReturnActiveClientsInIndexOrder() {
+    when(searchIndex.search("doe", 10)).thenReturn(List.of(3L, 2L, 1L));
+    when(clientRepository.findActiveClientsById(List.of(3L, 2L, 1L)))
+        .thenReturn(List.of(viewWithId(1L), viewWithId(3L)));
+
+    final var result = clientService.searchClients("doe", 10);
 
     assertEquals(2, result.size());
-    verify(clientRepository).findAllActiveClients();
+    assertEquals(3L, result.get(0).getId());
+    assertEquals(1L, result.get(1).getId());
+  }
+
+  @Test
+  void searchClients_WithoutMatches_ShouldNotTouchRepository() {
+    when(searchIndex.search("nobody", 10)).thenReturn(List.of());
+
+    assertEquals(0, clientService.searchClients("nobody", 10).size());
+    verifyNoMoreInteractions(clientRepository);
+  }
+
+  @Test
+  void exportClients_ShouldReadClientsInKeysetPages() throws Exception {
+    final var firstPage = new ArrayList<ClientView>();
+    for (long clientId = 1; clientId <= 1000; clientId++) {
+      firstPage.add(viewWithId(clientId));
+    }
+    when(clientRepository.findActiveClientsAfter(0L, PageRequest.of(0, 1000)))
+        .thenReturn(firstPage);
+    when(clientRepository.findActiveClientsAfter(1000L, PageRequest.of(0, 1000)))
+        .thenReturn(List.of(viewWithId(1001L)));
+    final var outputStream = new ByteArrayOutputStream();
+
+    final var count = clientService.exportClients(outputStream);
+
+    assertEquals(1001, count);
+    final var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(1001, lines.length);
+    assertEquals(objectMapper.writeValueAsString(viewWithId(1001L)), lines[1000]);
+    verify(clientRepository, times(2)).findActiveClientsAfter(any(), any());
+    verify(clientRepository, never()).streamAllActiveClients();
   }
 
   @Test
@@ -66,6 +213,11 @@ class ClientServiceTest {
 
     assertNotNull(result);
     verify(clientRepository).save(any(Client.class));
+    final var event = ArgumentCaptor.forClass(Object.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(
+        ClientChangedEvent.Type.CREATED, ((ClientChangedEvent) event.getValue()).getType());
+    assertEquals(savedClient, ((ClientChangedEvent) event.getValue()).getClient());
   }
 
   @Test
@@ -78,27 +230,66 @@ class ClientServiceTest {
     assertThrows(ConstraintViolationException.class, () -> clientService.createClient(clientDto));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void createClients_WithValidAndInvalidData_ShouldCreateValidClientsInBatches() {
+    clientProperties.getBulk().setBatchSize(2);
+    final var validDto = new ClientDto();
+    final var invalidDto = new ClientDto();
+    final ConstraintViolation<ClientDto> violation = mock(ConstraintViolation.class);
+    final var path = mock(Path.class);
+    when(path.toString()).thenReturn("email");
+    when(violation.getPropertyPath()).thenReturn(path);
+    when(violation.getMessage()).thenReturn("Must be a valid email address");
+    when(validator.validate(validDto)).thenReturn(Collections.emptySet());
+    final var violations = new HashSet<ConstraintViolation<ClientDto>>();
+    violations.add(violation);
+    when(validator.validate(invalidDto)).thenReturn(violations);
+
+    final var results =
+        clientService.createClients(List.of(validDto, invalidDto, validDto, validDto));
+
+    assertEquals(4, results.size());
+    assertEquals(BulkItemResult.Status.CREATED, results.get(0).getStatus());
+    assertEquals(BulkItemResult.Status.INVALID, results.get(1).getStatus());
+    assertEquals("Must be a valid email address", results.get(1).getErrors().get("email"));
+    assertEquals(BulkItemResult.Status.CREATED, results.get(2).getStatus());
+    assertEquals(BulkItemResult.Status.CREATED, results.get(3).getStatus());
+    assertEquals(3, meterRegistry.get("clients.validation").tag("result", "valid").timer().count());
+    assertEquals(
+        1, meterRegistry.get("clients.validation").tag("result", "invalid").timer().count());
+    verify(clientRepository, times(2)).saveAll(any());
+    verify(entityManager, times(2)).flush();
+    verify(entityManager, times(2)).clear();
+  }
+
   @Test
   void updateClient_WithValidDataAndExistingClient_ShouldUpdateAndReturnClient() {
     final var clientId = 1L;
     final var clientDto = new ClientDto();
     final var existingClient = new Client();
-    when(clientRepository.existsByIdAndNotDeleted(clientId)).thenReturn(true);
     when(validator.validate(clientDto)).thenReturn(Collections.emptySet());
+    when(auditorAware.getCurrentAuditor()).thenReturn(Optional.of("admin"));
+    when(clientRepository.updateActiveClient(clientId, null, null, null, null, "admin"))
+        .thenReturn(1);
     when(clientRepository.findById(clientId)).thenReturn(Optional.of(existingClient));
-    when(clientRepository.save(existingClient)).thenReturn(existingClient);
 
     final var result = clientService.updateClient(clientId, clientDto);
 
     assertNotNull(result);
-    verify(clientRepository).save(existingClient);
+    verify(clientRepository).updateActiveClient(clientId, null, null, null, null, "admin");
+    verify(clientRepository, never()).save(any(Client.class));
+    verify(clientRepository, never()).existsById(clientId);
   }
 
   @Test
   void updateClient_WithDeletedClient_ShouldThrowClientDeletedException() {
     final var clientId = 1L;
     final var clientDto = new ClientDto();
-    when(clientRepository.existsByIdAndNotDeleted(clientId)).thenReturn(false);
+    when(validator.validate(clientDto)).thenReturn(Collections.emptySet());
+    when(clientRepository.updateActiveClient(any(), any(), any(), any(), any(), any()))
+        .thenReturn(0);
+    when(clientRepository.existsById(clientId)).thenReturn(true);
     when(messageSource.getMessage(anyString(), any(Object[].class), any()))
         .thenReturn("Client with ID {0} has been deleted");
 
@@ -107,39 +298,62 @@ class ClientServiceTest {
             ClientDeletedException.class, () -> clientService.updateClient(clientId, clientDto));
 
     assertEquals("Client with ID {0} has been deleted", exception.getMessage());
-    verify(clientRepository).existsByIdAndNotDeleted(clientId);
-    verifyNoMoreInteractions(clientRepository);
+    verify(clientRepository, never()).findById(clientId);
   }
 
   @Test
   void updateClient_WithNonExistentClient_ShouldThrowClientNotFoundException() {
     final var clientId = 1L;
     final var clientDto = new ClientDto();
-    when(clientRepository.existsByIdAndNotDeleted(clientId)).thenReturn(true);
     when(validator.validate(clientDto)).thenReturn(Collections.emptySet());
-    when(clientRepository.findById(clientId)).thenReturn(Optional.empty());
+    when(clientRepository.updateActiveClient(any(), any(), any(), any(), any(), any()))
+        .thenReturn(0);
+    when(clientRepository.existsById(clientId)).thenReturn(false);
 
     assertThrows(
         ClientNotFoundException.class, () -> clientService.updateClient(clientId, clientDto));
+    verify(clientRepository, never()).findById(clientId);
+  }
+
+  @Test
+  void updateClient_WithInvalidData_ShouldNotTouchRepository() {
+    final var clientDto = new ClientDto();
+    final var violations = new HashSet<ConstraintViolation<ClientDto>>();
+    violations.add(mock(ConstraintViolation.class));
+    when(validator.validate(clientDto)).thenReturn(violations);
+
+    assertThrows(
+        ConstraintViolationException.class, () -> clientService.updateClient(1L, clientDto));
+    verifyNoMoreInteractions(clientRepository);
   }
 
   @Test
   void deleteClient_WithExistingClient_ShouldDeactivateClient() {
     final var clientId = 1L;
-    when(clientRepository.existsByIdAndNotDeleted(clientId)).thenReturn(true);
+    when(clientRepository.deactivateClient(clientId)).thenReturn(1);
 
     clientService.deleteClient(clientId);
 
     verify(clientRepository).deactivateClient(clientId);
+    verifyNoMoreInteractions(clientRepository);
+    final var event = ArgumentCaptor.forClass(Object.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(
+        ClientChangedEvent.Type.DELETED, ((ClientChangedEvent) event.getValue()).getType());
+    assertEquals(clientId, ((ClientChangedEvent) event.getValue()).getClientId());
+    // Without an auditor, the same default as the audited columns.
+    assertEquals(AuditConfig.DEFAULT_AUDITOR, ((ClientChangedEvent) event.getValue()).getAuditor());
   }
 
   @Test
-  void deleteClient_WithNonExistentOrAlreadyDeletedClient_ShouldNotDeactivateClient() {
+  void deleteClient_WithNonExistentOrAlreadyDeletedClient_ShouldNotFail() {
     final var clientId = 1L;
-    when(clientRepository.existsByIdAndNotDeleted(clientId)).thenReturn(false);
+    when(clientRepository.deactivateClient(clientId)).thenReturn(0);
 
     clientService.deleteClient(clientId);
 
-    verify(clientRepository, never()).deactivateClient(clientId);
+    verify(clientRepository).deactivateClient(clientId);
+    verifyNoMoreInteractions(clientRepository);
+    verifyNoMoreInteractions(eventPublisher);
   }
 }
@@ -0,0 +1,204 @@
+package io.github.antoniomayk.dxc.clients.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.antoniomayk.dxc.clients.config.ClientProperties;
+import io.github.antoniomayk.dxc.clients.dto.ClientDto;
+import io.github.antoniomayk.dxc.clients.dto.ClientStats;
+import io.github.antoniomayk.dxc.clients.event.ClientChangedEvent;
+import io.github.antoniomayk.dxc.clients.service.ClientService;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientStatisticsTest {
+  private static final String DOMAIN = "stats.example.com";
+
+  @Autowired private ClientStatistics clientStatistics;
+
+  @Autowired private ClientService clientService;
+
+  @Autowired private ClientProperties clientProperties;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private ConfigurableApplicationContext applicationContext;
+
+  @Autowired private ApplicationEventMulticaster applicationEventMulticaster;
+
+  private int topDomains;
+
+  @BeforeEach
+  void setUp() {
+    topDomains = clientProperties.getStats().getTopDomains();
+    clientProperties.getStats().setTopDomains(clientProperties.getStats().getMaxDomains());
+    clientStatistics.reconcile();
+  }
+
+  @AfterEach
+  void tearDown() {
+    clientProperties.getStats().setTopDomains(topDomains);
+    jdbcTemplate.update("DELETE FROM clients WHERE LOWER(email) LIKE ?", "%@" + DOMAIN);
+    clientStatistics.reconcile();
+  }
+
+  private static long domainClients(ClientStats stats) {
+    return stats.getTopEmailDomains().stream()
+        .filter(domain -> domain.getDomain().equals(DOMAIN))
+        .mapToLong(ClientStats.DomainCount::getClients)
+        .sum();
+  }
+
+  private static long createdToday(ClientStats stats) {
+    return stats.getCreationsPerDay().getOrDefault(LocalDate.now(), 0L);
+  }
+
+  @Test
+  void createAndDeleteClient_ShouldUpdateStatistics() {
+    final var before = clientStatistics.getStats();
+    final var clientDto = new ClientDto();
+    clientDto.setFullName("Jane Doe");
+    clientDto.setEmail("Jane.Doe@Stats.Example.com");
+    clientDto.setPhoneNumber("+5588988397489");
+
+    final var client = clientService.createClient(clientDto);
+    final var created = clientStatistics.getStats();
+
+    assertEquals(before.getActiveClients() + 1, created.getActiveClients());
+    assertEquals(before.getDeletedClients(), created.getDeletedClients());
+    assertEquals(1, domainClients(created));
+    assertEquals(createdToday(before) + 1, createdToday(created));
+
+    clientService.deleteClient(client.getId());
+    final var deleted = clientStatistics.getStats();
+
+    assertEquals(before.getActiveClients(), deleted.getActiveClients());
+    assertEquals(before.getDeletedClients() + 1, deleted.getDeletedClients());
+    assertEquals(1, domainClients(deleted));
+  }
+
+  @Test
+  void reconcile_ShouldCountClientsInsertedOutsideTheService() {
+    final var before = clientStatistics.getStats();
+    for (var i = 0; i < 3; i++) {
+      jdbcTemplate.update(
+          "INSERT INTO clients (full_name, email, phone_number) VALUES (?, ?, ?)",
+          "Generated Client",
+          "generated." + i + "@" + DOMAIN,
+          "+5588988397489");
+    }
+    assertEquals(before.getActiveClients(), clientStatistics.getStats().getActiveClients());
+
+    clientStatistics.reconcile();
+    final var after = clientStatistics.getStats();
+
+    assertEquals(before.getActiveClients() + 3, after.getActiveClients());
+    assertEquals(3, domainClients(after));
+    assertEquals(createdToday(before) + 3, createdToday(after));
+    assertNotNull(after.getReconciledAt());
+  }
+
+  @Test
+  void reconcile_WithChangeCommittedBeforeItsEvent_ShouldCountItOnce() throws Exception {
+    final var before = clientStatistics.getStats();
+    final var clientDto = new ClientDto();
+    clientDto.setFullName("Jane Doe");
+    clientDto.setEmail("jane.doe@" + DOMAIN);
+    clientDto.setPhoneNumber("+5588988397489");
+    final var pause = new PauseAfterCommit(clientDto.getEmail());
+    applicationContext.addApplicationListener(pause);
+
+    try {
+      // Called the way the controller does, outside of any transaction.
+      final var create = CompletableFuture.runAsync(() -> clientService.createClient(clientDto));
+      assertTrue(pause.committed.await(5, TimeUnit.SECONDS));
+      final var reconcile = CompletableFuture.runAsync(clientStatistics::reconcile);
+      Thread.sleep(200);
+      pause.release.countDown();
+      create.get(5, TimeUnit.SECONDS);
+      reconcile.get(5, TimeUnit.SECONDS);
+    } finally {
+      applicationEventMulticaster.removeApplicationListener(pause);
+    }
+
+    final var after = clientStatistics.getStats();
+    assertEquals(before.getActiveClients() + 1, after.getActiveClients());
+    assertEquals(domainClients(before) + 1, domainClients(after));
+    assertEquals(createdToday(before) + 1, createdToday(after));
+  }
+
+  /**
+   * Holds the thread that created a client once the creation is committed, before the other
+   * listeners of its event, or right away when the event is published outside of a transaction.
+   */
+  private static final class PauseAfterCommit
+      implements ApplicationListener<PayloadApplicationEvent<?>>, Ordered {
+    private final String email;
+    private final CountDownLatch committed = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PauseAfterCommit(String email) {
+      this.email = email;
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<?> event) {
+      if (!(event.getPayload() instanceof ClientChangedEvent)) {
+        return;
+      }
+      final var clientEvent = (ClientChangedEvent) event.getPayload();
+      if (clientEvent.getClient() == null || !email.equals(clientEvent.getClient().getEmail())) {
+        return;
+      }
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        pause();
+        return;
+      }
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              pause();
+            }
+          });
+    }
+
+    private void pause() {
+      committed.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+  }
+
+  @Test
+  void domainOf_ShouldReturnLowerCasedDomain() {
+    assertEquals("example.com", ClientStatistics.domainOf("John.Doe@Example.COM"));
+  }
+}
@@ -0,0 +1,50 @@
+package io.github.antoniomayk.dxc.clients.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class PhoneNumberValidatorTest {
+  private final PhoneNumberValidator validator = new PhoneNumberValidator();
+
+  @Test
+  void isValid_WithValidNumber_ShouldReturnTrue() {
+    assertTrue(validator.isValid("+55 88 98839-7489", null));
+  }
+
+  @Test
+  void isValid_WithInvalidOrMissingNumber_ShouldReturnFalse() {
+    assertFalse(validator.isValid("+1 000", null));
+    assertFalse(validator.isValid("not a number", null));
+    assertFalse(validator.isValid(null, null));
+  }
+
+  @Test
+  void toE164_WithDifferentlyFormattedNumbers_ShouldReturnSameNormalizedNumber() {
+    assertEquals(Optional.of("+5588988397489"), PhoneNumberValidator.toE164("+5588988397489"));
+    assertEquals(Optional.of("+5588988397489"), PhoneNumberValidator.toE164("+55 88 98839-7489"));
+    assertEquals(Optional.of("+5588988397489"), PhoneNumberValidator.toE164("+55 (88) 98839 7489"));
+  }
+
+  @Test
+  void toE164_WithInvalidNumber_ShouldReturnEmpty() {
+    assertEquals(Optional.empty(), PhoneNumberValidator.toE164("(624) 380-7618"));
+    assertEquals(Optional.empty(), PhoneNumberValidator.toE164(null));
+  }
+
+  @Test
+  void parseE164_ShouldNormalizeWithoutCaching() {
+    final var phoneNumber = "+55 88 3521-0098";
+
+    assertEquals(Optional.of("+558835210098"), PhoneNumberValidator.parseE164(phoneNumber));
+    assertEquals(Optional.empty(), PhoneNumberValidator.parseE164("(624) 380-7618"));
+    assertEquals(Optional.empty(), PhoneNumberValidator.parseE164(null));
+    assertFalse(PhoneNumberValidator.isCached(phoneNumber));
+
+    PhoneNumberValidator.toE164(phoneNumber);
+    assertTrue(PhoneNumberValidator.isCached(phoneNumber));
+  }
+}